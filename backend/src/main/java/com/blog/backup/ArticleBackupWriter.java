@@ -0,0 +1,354 @@
+package com.blog.backup;
+
+import com.blog.cache.TaxonomyCache;
+import com.blog.entity.Article;
+import com.blog.entity.ArticleTag;
+import com.blog.entity.Category;
+import com.blog.entity.Comment;
+import com.blog.entity.Tag;
+import com.blog.mapper.ArticleMapper;
+import com.blog.mapper.ArticleTagMapper;
+import com.blog.mapper.CommentMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 文章全量备份
+ * <p>
+ * 按文章ID分块导出文章（含正文、标签）和评论。每块在一个短的只读事务中通过 MyBatis {@link Cursor} 读入内存，
+ * 事务结束、连接归还后再写出，内存占用以块为单位（由 chunk-size 控制），与表大小无关。
+ * 写出直接使用阻塞的响应输出流，客户端读得慢时写入阻塞、下一块随之推迟读取，形成背压；
+ * 写出期间不持有数据库连接或事务，客户端慢不会占住连接池。
+ * <p>
+ * 每块写完后输出一个断点（NDJSON 中为 checkpoint 记录，zip 中为 checkpoints/{afterId} 条目），
+ * 中断后以最后一个断点的 afterId 重新请求即可续传；全部写完后输出结束标记。
+ *
+ * @author blog
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleBackupWriter {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ArticleMapper articleMapper;
+    private final ArticleTagMapper articleTagMapper;
+    private final CommentMapper commentMapper;
+    private final TaxonomyCache taxonomyCache;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * 每块的文章数，决定一次读入内存的数据量
+     */
+    @Value("${blog.backup.chunk-size:200}")
+    private int chunkSize;
+
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        return template;
+    }
+
+    /**
+     * 将 afterId 之后的全部文章写入输出流
+     *
+     * @param afterId 续传时为上次最后一个断点的 afterId，从头开始传 0
+     */
+    public void write(OutputStream response, BackupFormat format, long afterId) throws IOException {
+        long startTime = System.currentTimeMillis();
+        OutputStream buffered = new BufferedOutputStream(response, BUFFER_SIZE);
+        Sink sink = format == BackupFormat.ZIP ? new ZipSink(buffered) : new NdjsonSink(buffered);
+        TransactionTemplate transaction = readOnlyTransaction();
+        long articleCount = 0;
+        long commentCount = 0;
+
+        long cursor = afterId;
+        while (true) {
+            List<Long> ids = articleMapper.selectIdsAfter(cursor, chunkSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            long from = cursor;
+            long to = ids.get(ids.size() - 1);
+            Map<Long, List<Long>> tagIds = articleTagMapper.selectByArticleIds(ids).stream()
+                    .collect(Collectors.groupingBy(ArticleTag::getArticleId,
+                            Collectors.mapping(ArticleTag::getTagId, Collectors.toList())));
+            TaxonomyCache.Snapshot taxonomy = taxonomyCache.current();
+
+            // 先在事务内把整块读入内存并结束事务，再写响应；客户端慢只阻塞写出，不占用连接
+            List<Article> articles = new ArrayList<>(ids.size());
+            List<Comment> comments = new ArrayList<>();
+            transaction.executeWithoutResult(status -> {
+                // 流式游标同一连接上只能打开一个，依次读完
+                try (Cursor<Article> rows = articleMapper.selectBackupCursor(from, to)) {
+                    rows.forEach(articles::add);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                try (Cursor<Comment> rows = commentMapper.selectBackupCursor(from, to)) {
+                    rows.forEach(comments::add);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            for (Article article : articles) {
+                sink.article(article, tagIds.getOrDefault(article.getId(), List.of()), taxonomy);
+            }
+            for (Comment comment : comments) {
+                sink.comment(comment);
+            }
+            sink.endComments();
+            articleCount += articles.size();
+            commentCount += comments.size();
+            sink.checkpoint(to);
+            // 每块结束时把缓冲推给客户端，断点之前的内容都已送出
+            buffered.flush();
+            cursor = to;
+        }
+        sink.finish(afterId, articleCount, commentCount);
+        buffered.flush();
+        log.info("文章备份完成（{}），起点{}，文章{}篇，评论{}条，耗时{}ms", format, afterId, articleCount, commentCount,
+                System.currentTimeMillis() - startTime);
+    }
+
+    private Map<String, Object> articleRecord(Article article, List<Long> tagIds, TaxonomyCache.Snapshot taxonomy) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("type", "article");
+        record.put("id", article.getId());
+        record.put("title", article.getTitle());
+        record.put("summary", article.getSummary());
+        record.put("coverImage", article.getCoverImage());
+        record.put("categoryId", article.getCategoryId());
+        record.put("category", categoryName(taxonomy, article.getCategoryId()));
+        record.put("tagIds", tagIds);
+        record.put("tags", tagNames(taxonomy, tagIds));
+        record.put("authorId", article.getAuthorId());
+        record.put("status", article.getStatus());
+        record.put("isTop", article.getIsTop());
+        record.put("isRecommend", article.getIsRecommend());
+        record.put("viewCount", article.getViewCount());
+        record.put("likeCount", article.getLikeCount());
+        record.put("commentCount", article.getCommentCount());
+        record.put("publishTime", article.getPublishTime());
+        record.put("createTime", article.getCreateTime());
+        record.put("updateTime", article.getUpdateTime());
+        record.put("content", article.getContent());
+        return record;
+    }
+
+    private static Map<String, Object> commentRecord(Comment comment) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("type", "comment");
+        record.put("id", comment.getId());
+        record.put("articleId", comment.getArticleId());
+        record.put("userId", comment.getUserId());
+        record.put("parentId", comment.getParentId());
+        record.put("rootId", comment.getRootId());
+        record.put("status", comment.getStatus());
+        record.put("createTime", comment.getCreateTime());
+        record.put("content", comment.getContent());
+        return record;
+    }
+
+    private static Map<String, Object> endRecord(long afterId, long articles, long comments) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("type", "end");
+        record.put("afterId", afterId);
+        record.put("articles", articles);
+        record.put("comments", comments);
+        record.put("exportTime", LocalDateTime.now());
+        return record;
+    }
+
+    private static String categoryName(TaxonomyCache.Snapshot taxonomy, Long categoryId) {
+        Category category = categoryId == null ? null : taxonomy.getCategory(categoryId);
+        return category == null ? null : category.getName();
+    }
+
+    private static List<String> tagNames(TaxonomyCache.Snapshot taxonomy, List<Long> tagIds) {
+        return tagIds.stream().map(taxonomy::getTag).filter(Objects::nonNull).map(Tag::getName).toList();
+    }
+
+    /**
+     * 备份写出目标
+     */
+    private interface Sink {
+
+        void article(Article article, List<Long> tagIds, TaxonomyCache.Snapshot taxonomy) throws IOException;
+
+        void comment(Comment comment) throws IOException;
+
+        /**
+         * 当前块的评论写完
+         */
+        void endComments() throws IOException;
+
+        void checkpoint(long afterId) throws IOException;
+
+        void finish(long afterId, long articles, long comments) throws IOException;
+    }
+
+    private final class NdjsonSink implements Sink {
+
+        private final OutputStream out;
+
+        NdjsonSink(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void article(Article article, List<Long> tagIds, TaxonomyCache.Snapshot taxonomy) throws IOException {
+            line(articleRecord(article, tagIds, taxonomy));
+        }
+
+        @Override
+        public void comment(Comment comment) throws IOException {
+            line(commentRecord(comment));
+        }
+
+        @Override
+        public void endComments() {
+        }
+
+        @Override
+        public void checkpoint(long afterId) throws IOException {
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("type", "checkpoint");
+            record.put("afterId", afterId);
+            line(record);
+        }
+
+        @Override
+        public void finish(long afterId, long articles, long comments) throws IOException {
+            line(endRecord(afterId, articles, comments));
+        }
+
+        private void line(Map<String, Object> record) throws IOException {
+            out.write(objectMapper.writeValueAsBytes(record));
+            out.write('\n');
+        }
+    }
+
+    private final class ZipSink implements Sink {
+
+        private final ZipOutputStream zip;
+
+        private final Yaml yaml;
+
+        /**
+         * 当前打开的评论条目所属文章
+         */
+        private Long commentArticleId;
+
+        ZipSink(OutputStream out) {
+            this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+            DumperOptions options = new DumperOptions();
+            options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+            options.setAllowUnicode(true);
+            this.yaml = new Yaml(options);
+        }
+
+        @Override
+        public void article(Article article, List<Long> tagIds, TaxonomyCache.Snapshot taxonomy) throws IOException {
+            // front-matter 字段与导入时解析的字段一致，额外字段导入时忽略
+            Map<String, Object> matter = new LinkedHashMap<>();
+            matter.put("title", article.getTitle());
+            matter.put("date", format(article.getPublishTime() != null ? article.getPublishTime() : article.getCreateTime()));
+            String category = categoryName(taxonomy, article.getCategoryId());
+            if (category != null) {
+                matter.put("category", category);
+            }
+            List<String> tags = tagNames(taxonomy, tagIds);
+            if (!tags.isEmpty()) {
+                matter.put("tags", new ArrayList<>(tags));
+            }
+            if (article.getSummary() != null) {
+                matter.put("summary", article.getSummary());
+            }
+            if (article.getCoverImage() != null) {
+                matter.put("cover", article.getCoverImage());
+            }
+            matter.put("draft", !"PUBLISHED".equals(article.getStatus()));
+            matter.put("id", article.getId());
+            matter.put("status", article.getStatus());
+            matter.put("updated", format(article.getUpdateTime()));
+
+            zip.putNextEntry(new ZipEntry("articles/" + article.getId() + ".md"));
+            zip.write(("---\n" + yaml.dump(matter) + "---\n\n").getBytes(StandardCharsets.UTF_8));
+            if (article.getContent() != null) {
+                zip.write(article.getContent().getBytes(StandardCharsets.UTF_8));
+            }
+            zip.closeEntry();
+        }
+
+        @Override
+        public void comment(Comment comment) throws IOException {
+            // 评论按文章ID排序，文章变化时换一个条目
+            if (!comment.getArticleId().equals(commentArticleId)) {
+                endComments();
+                zip.putNextEntry(new ZipEntry("comments/" + comment.getArticleId() + ".ndjson"));
+                commentArticleId = comment.getArticleId();
+            }
+            zip.write(objectMapper.writeValueAsBytes(commentRecord(comment)));
+            zip.write('\n');
+        }
+
+        @Override
+        public void endComments() throws IOException {
+            if (commentArticleId != null) {
+                zip.closeEntry();
+                commentArticleId = null;
+            }
+        }
+
+        @Override
+        public void checkpoint(long afterId) throws IOException {
+            zip.putNextEntry(new ZipEntry("checkpoints/" + afterId));
+            zip.closeEntry();
+            // 让已完成的条目尽快送出
+            zip.flush();
+        }
+
+        @Override
+        public void finish(long afterId, long articles, long comments) throws IOException {
+            zip.putNextEntry(new ZipEntry("backup.json"));
+            zip.write(objectMapper.writeValueAsBytes(endRecord(afterId, articles, comments)));
+            zip.closeEntry();
+            zip.finish();
+        }
+
+        private String format(LocalDateTime time) {
+            return time == null ? null : DATE_TIME.format(time);
+        }
+    }
+}
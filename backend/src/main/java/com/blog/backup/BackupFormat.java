@@ -0,0 +1,45 @@
+package com.blog.backup;
+
+/**
+ * 备份格式
+ *
+ * @author blog
+ */
+public enum BackupFormat {
+
+    /**
+     * 每行一个 JSON 记录（文章、评论、断点、结束标记），包含全部字段
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * zip 压缩的 Markdown 目录：articles/{id}.md（带 front-matter，可直接再导入）和 comments/{articleId}.ndjson
+     */
+    ZIP("application/zip", "zip");
+
+    private final String contentType;
+
+    private final String extension;
+
+    BackupFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static BackupFormat of(String name) {
+        for (BackupFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name) || format.extension.equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new RuntimeException("不支持的备份格式：" + name);
+    }
+}
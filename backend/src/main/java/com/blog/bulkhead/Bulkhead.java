@@ -0,0 +1,136 @@
+package com.blog.bulkhead;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 信号量舱壁
+ * <p>
+ * 限制同时访问某个下游资源（数据库、Redis）的线程数，许可数与连接池大小一致。
+ * 等待超过 acquireTimeout 仍拿不到许可时快速失败，避免大量请求线程（尤其是虚拟线程）堆积在连接池上。
+ * 同一线程在持有许可期间的嵌套获取（如事务中的多次调用）不重复占用许可。
+ * 许可记录在 {@link Permit} 对象上而不是线程上，可以在其他线程释放（如异步、流式响应中关闭连接），且只释放一次。
+ *
+ * @author blog
+ */
+public class Bulkhead {
+
+    private final String name;
+
+    private final int permits;
+
+    private final long acquireTimeoutMs;
+
+    private final Semaphore semaphore;
+
+    /**
+     * 当前线程最近获取的许可；已被释放（可能在其他线程）时视为未持有
+     */
+    private final ThreadLocal<Permit> held = new ThreadLocal<>();
+
+    /**
+     * 嵌套获取时返回的许可，不占用信号量
+     */
+    private final Permit nested = new Permit(false);
+
+    private final Timer waitTimer;
+
+    private final Counter rejected;
+
+    public Bulkhead(String name, int permits, long acquireTimeoutMs, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.permits = permits;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.semaphore = new Semaphore(permits, true);
+        Gauge.builder("blog.bulkhead.available", semaphore, Semaphore::availablePermits)
+                .description("舱壁剩余许可数")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("blog.bulkhead.waiting", semaphore, Semaphore::getQueueLength)
+                .description("等待许可的线程数")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("blog.bulkhead.wait")
+                .description("获取许可的等待时间")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("blog.bulkhead.rejected")
+                .description("等待超时被拒绝的次数")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 获取许可，超时抛出 {@link BulkheadFullException}；返回的许可必须调用 {@link Permit#release()}
+     */
+    public Permit acquire() {
+        Permit current = held.get();
+        if (current != null && !current.isReleased()) {
+            return nested;
+        }
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkheadFullException(name);
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            rejected.increment();
+            throw new BulkheadFullException(name);
+        }
+        Permit permit = new Permit(true);
+        held.set(permit);
+        return permit;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPermits() {
+        return permits;
+    }
+
+    /**
+     * 一次获取得到的许可
+     */
+    public final class Permit {
+
+        /**
+         * 是否占用了信号量（嵌套获取时为 false）
+         */
+        private final boolean owning;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(boolean owning) {
+            this.owning = owning;
+        }
+
+        /**
+         * 释放许可，可在任意线程调用，重复调用无效
+         */
+        public void release() {
+            if (!owning || !released.compareAndSet(false, true)) {
+                return;
+            }
+            semaphore.release();
+            if (held.get() == this) {
+                held.remove();
+            }
+        }
+
+        boolean isReleased() {
+            return released.get();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.blog.bulkhead;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 带舱壁的数据源
+ * <p>
+ * 获取连接前先拿到许可，连接关闭（归还连接池）时释放许可。
+ *
+ * @author blog
+ */
+public class BulkheadDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final Bulkhead bulkhead;
+
+    public BulkheadDataSource(DataSource target, Bulkhead bulkhead) {
+        super(target);
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Bulkhead.Permit permit = bulkhead.acquire();
+        try {
+            return guard(obtainTargetDataSource().getConnection(), permit);
+        } catch (SQLException | RuntimeException e) {
+            permit.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Bulkhead.Permit permit = bulkhead.acquire();
+        try {
+            return guard(obtainTargetDataSource().getConnection(username, password), permit);
+        } catch (SQLException | RuntimeException e) {
+            permit.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 许可随连接对象走：无论在哪个线程关闭连接都会释放，且只释放一次
+     */
+    private Connection guard(Connection target, Bulkhead.Permit permit) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    boolean closing = "close".equals(method.getName());
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    } finally {
+                        if (closing) {
+                            permit.release();
+                        }
+                    }
+                });
+    }
+
+    /**
+     * 关闭被包装的连接池（如 HikariDataSource），保证应用停止时连接池随之关闭
+     */
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.blog.bulkhead;
+
+/**
+ * 舱壁已满，等待超时仍未获得许可
+ *
+ * @author blog
+ */
+public class BulkheadFullException extends RuntimeException {
+
+    public BulkheadFullException(String name) {
+        super("系统繁忙，请稍后重试（" + name + "）");
+    }
+}
@@ -0,0 +1,33 @@
+package com.blog.bulkhead;
+
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * 带舱壁的 StringRedisTemplate
+ * <p>
+ * 所有命令（包括管道和事务会话内的命令）最终都经过 {@link #execute(RedisCallback, boolean, boolean)}，
+ * 在这里统一获取许可。订阅连接由 RedisMessageListenerContainer 直接从连接工厂获取，不占用许可。
+ *
+ * @author blog
+ */
+public class BulkheadStringRedisTemplate extends StringRedisTemplate {
+
+    private final Bulkhead bulkhead;
+
+    public BulkheadStringRedisTemplate(RedisConnectionFactory connectionFactory, Bulkhead bulkhead) {
+        super(connectionFactory);
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public <T> T execute(RedisCallback<T> action, boolean exposeConnection, boolean pipeline) {
+        Bulkhead.Permit permit = bulkhead.acquire();
+        try {
+            return super.execute(action, exposeConnection, pipeline);
+        } finally {
+            permit.release();
+        }
+    }
+}
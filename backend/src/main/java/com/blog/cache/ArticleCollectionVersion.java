@@ -0,0 +1,177 @@
+package com.blog.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 文章集合版本号
+ * <p>
+ * 文章创建、修改、发布、删除后递增，用作列表类接口的 ETag。版本号保存在 Redis 的一个哈希中由各实例共享，
+ * 由随机的纪元ID和计数组成：Redis 数据丢失后计数从头开始，但会生成新的纪元ID，不会与丢失前的版本号重复。
+ * 本地缓存最新值，读取时不访问 Redis；递增后通过频道通知其他实例。阅读量、点赞数等计数变化不影响版本。
+ * <p>
+ * Redis 不可用导致递增失败时，本实例的版本号无法与其他实例对齐，{@link #current()} 返回 null、不再返回 304，
+ * 并在后台重试递增，成功后恢复。
+ *
+ * @author blog
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleCollectionVersion {
+
+    private static final String VERSION_KEY = "article:collection:state";
+
+    private static final String CHANGED_CHANNEL = "article:collection:changed";
+
+    private static final long RETRY_DELAY_SECONDS = 10;
+
+    /**
+     * 递增计数；纪元ID不存在时（首次使用或 Redis 数据丢失）写入 ARGV[1]，返回 纪元ID:计数
+     */
+    private static final RedisScript<String> BUMP_SCRIPT = new DefaultRedisScript<>(
+            "local counter = redis.call('HINCRBY', KEYS[1], 'counter', 1) "
+                    + "redis.call('HSETNX', KEYS[1], 'epoch', ARGV[1]) "
+                    + "return redis.call('HGET', KEYS[1], 'epoch') .. ':' .. counter", String.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    /**
+     * 为 null 时表示尚未与 Redis 对齐
+     */
+    private final AtomicReference<Version> version = new AtomicReference<>();
+
+    private final AtomicBoolean retryScheduled = new AtomicBoolean();
+
+    private ScheduledExecutorService retrier;
+
+    @PostConstruct
+    public void init() {
+        retrier = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "collection-version-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Object> stored = stringRedisTemplate.opsForHash().multiGet(VERSION_KEY, List.of("epoch", "counter"));
+            if (stored.get(0) != null && stored.get(1) != null) {
+                advanceTo(new Version(stored.get(0).toString(), Long.parseLong(stored.get(1).toString())));
+            } else {
+                doBump();
+            }
+        } catch (Exception e) {
+            log.warn("读取文章集合版本失败，稍后重试", e);
+            scheduleRetry();
+        }
+        listenerContainer.addMessageListener((message, pattern) ->
+                advanceTo(Version.parse(new String(message.getBody(), StandardCharsets.UTF_8))),
+                new ChannelTopic(CHANGED_CHANNEL));
+    }
+
+    /**
+     * 当前版本号；与其他实例的版本无法对齐时返回 null，调用方不应据此返回 304
+     */
+    public String current() {
+        Version current = version.get();
+        return current == null ? null : current.toString();
+    }
+
+    /**
+     * 文章集合变更后调用；在事务中调用时延迟到提交之后
+     */
+    public void bump() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doBump();
+                }
+            });
+        } else {
+            doBump();
+        }
+    }
+
+    private void doBump() {
+        try {
+            String next = stringRedisTemplate.execute(BUMP_SCRIPT, List.of(VERSION_KEY),
+                    UUID.randomUUID().toString().replace("-", ""));
+            if (next != null) {
+                advanceTo(Version.parse(next));
+                stringRedisTemplate.convertAndSend(CHANGED_CHANNEL, next);
+                return;
+            }
+        } catch (Exception e) {
+            log.warn("递增文章集合版本失败，本实例暂停返回304并稍后重试", e);
+        }
+        version.set(null);
+        scheduleRetry();
+    }
+
+    /**
+     * 失败期间的多次递增合并为一次重试
+     */
+    private void scheduleRetry() {
+        if (retryScheduled.compareAndSet(false, true)) {
+            retrier.schedule(() -> {
+                retryScheduled.set(false);
+                doBump();
+            }, RETRY_DELAY_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * 同一纪元内取较大的计数；纪元不同说明 Redis 数据已重建，直接采用新版本
+     */
+    private void advanceTo(Version next) {
+        version.accumulateAndGet(next, (current, incoming) ->
+                current == null || !current.epoch.equals(incoming.epoch) || incoming.counter > current.counter
+                        ? incoming : current);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retrier.shutdownNow();
+    }
+
+    private static final class Version {
+
+        private final String epoch;
+        private final long counter;
+
+        private Version(String epoch, long counter) {
+            this.epoch = epoch;
+            this.counter = counter;
+        }
+
+        private static Version parse(String value) {
+            int separator = value.lastIndexOf(':');
+            return new Version(value.substring(0, separator), Long.parseLong(value.substring(separator + 1)));
+        }
+
+        @Override
+        public String toString() {
+            return epoch + "-" + counter;
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.blog.cache;
+
+import com.alibaba.fastjson2.JSON;
+import com.blog.counter.CommentCountBuffer;
+import com.blog.counter.ViewCountBuffer;
+import com.blog.entity.Article;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * 文章详情两级缓存
+ * <p>
+ * L1 为按内容大小加权淘汰的本地 Caffeine 缓存，L2 为 Redis。写操作在事务提交后精确失效两级缓存，
+ * 并通过 Redis 频道通知其他节点失效各自的 L1。返回给调用方的都是副本，可以放心修改。
+ * <p>
+ * 阅读量、评论数落库后不失效缓存：L2 条目为 Hash，文章 JSON 之外用单独的字段累加计数增量；
+ * 各节点的 L1 通过同一频道收到增量后原地修正。
+ *
+ * @author blog
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleDetailCache {
+
+    private static final String KEY_PREFIX = "article:detail:";
+
+    private static final String INVALIDATE_CHANNEL = "article:detail:invalidate";
+
+    private static final String DATA_FIELD = "data";
+
+    private static final String VIEW_DELTA_FIELD = "viewDelta";
+
+    private static final String COMMENT_DELTA_FIELD = "commentDelta";
+
+    /**
+     * 整体写入 L2 条目并设置过期时间；先删除旧条目，丢弃其中累加的计数增量
+     */
+    private static final RedisScript<Long> PUT_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('DEL', KEYS[1]) "
+                    + "redis.call('HSET', KEYS[1], 'data', ARGV[1]) "
+                    + "redis.call('PEXPIRE', KEYS[1], ARGV[2]) "
+                    + "return 1", Long.class);
+
+    /**
+     * 为已缓存的条目累加计数增量，ARGV[1] 为字段名，ARGV[i + 1] 为 KEYS[i] 的增量；不存在的条目不创建
+     */
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "local patched = 0 "
+                    + "for i, key in ipairs(KEYS) do "
+                    + "  if redis.call('TYPE', key).ok == 'hash' then "
+                    + "    redis.call('HINCRBY', key, ARGV[1], ARGV[i + 1]) "
+                    + "    patched = patched + 1 "
+                    + "  end "
+                    + "end "
+                    + "return patched", Long.class);
+
+    /**
+     * 单个缓存条目的固定开销估算（字节）
+     */
+    private static final int ENTRY_OVERHEAD = 512;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ViewCountBuffer viewCountBuffer;
+    private final CommentCountBuffer commentCountBuffer;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${blog.article-cache.l1-max-weight-mb:64}")
+    private long l1MaxWeightMb;
+
+    @Value("${blog.article-cache.l1-expire-seconds:300}")
+    private long l1ExpireSeconds;
+
+    @Value("${blog.article-cache.l2-ttl-seconds:600}")
+    private long l2TtlSeconds;
+
+    /**
+     * 本实例标识，收到自己广播的计数增量时跳过（本地已修正）
+     */
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private Cache<Long, Article> local;
+
+    private Counter l2Hits;
+
+    private Counter l2Misses;
+
+    @PostConstruct
+    public void init() {
+        local = Caffeine.newBuilder()
+                .maximumWeight(l1MaxWeightMb * 1024 * 1024)
+                .weigher((Long id, Article article) -> weigh(article))
+                .expireAfterWrite(Duration.ofSeconds(l1ExpireSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "articleDetail.l1");
+
+        l2Hits = Counter.builder("blog.cache.article.detail.l2").tag("result", "hit").register(meterRegistry);
+        l2Misses = Counter.builder("blog.cache.article.detail.l2").tag("result", "miss").register(meterRegistry);
+
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            if (body.startsWith("{")) {
+                applyRemoteDeltas(JSON.parseObject(body, CounterDeltas.class));
+            } else {
+                local.invalidate(Long.valueOf(body));
+            }
+        }, new ChannelTopic(INVALIDATE_CHANNEL));
+
+        // 阅读量、评论数落库后同步修正缓存中的值，避免合并待落库增量后出现回退
+        viewCountBuffer.addFlushListener(this::applyFlushedViews);
+        commentCountBuffer.addFlushListener(this::applyFlushedComments);
+    }
+
+    /**
+     * 获取文章详情，依次查询 L1、L2，均未命中时调用 loader 加载并回填
+     */
+    public Article get(Long id, Function<Long, Article> loader) {
+        Article article = local.getIfPresent(id);
+        if (article == null) {
+            article = getFromRedis(id);
+            if (article == null) {
+                article = loader.apply(id);
+                if (article == null) {
+                    return null;
+                }
+                putToRedis(article);
+            }
+            local.put(id, article);
+        }
+        return copyOf(article);
+    }
+
+    /**
+     * 只查询本地 L1 缓存，不回源
+     *
+     * @return 未缓存时返回 null
+     */
+    public Article peek(Long id) {
+        Article article = local.getIfPresent(id);
+        return article == null ? null : copyOf(article);
+    }
+
+    /**
+     * 失效文章缓存；处于事务中时在提交后执行，避免并发读回填旧数据
+     */
+    public void evict(Long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doEvict(id);
+                }
+            });
+        } else {
+            doEvict(id);
+        }
+    }
+
+    private void doEvict(Long id) {
+        local.invalidate(id);
+        try {
+            stringRedisTemplate.delete(KEY_PREFIX + id);
+            stringRedisTemplate.convertAndSend(INVALIDATE_CHANNEL, String.valueOf(id));
+        } catch (Exception e) {
+            log.warn("失效文章详情Redis缓存失败：{}", id, e);
+        }
+    }
+
+    private void applyFlushedViews(Map<Long, Long> deltas) {
+        applyFlushedDeltas(VIEW_DELTA_FIELD, deltas);
+    }
+
+    private void applyFlushedComments(Map<Long, Long> deltas) {
+        applyFlushedDeltas(COMMENT_DELTA_FIELD, deltas);
+    }
+
+    /**
+     * 计数增量落库后修正本地 L1、累加到 L2，并通知其他节点修正各自的 L1
+     */
+    private void applyFlushedDeltas(String field, Map<Long, Long> deltas) {
+        patchLocal(field, deltas);
+        try {
+            List<String> keys = new ArrayList<>(deltas.size());
+            Object[] args = new Object[deltas.size() + 1];
+            args[0] = field;
+            int i = 1;
+            for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+                keys.add(KEY_PREFIX + entry.getKey());
+                args[i++] = String.valueOf(entry.getValue());
+            }
+            stringRedisTemplate.execute(INCREMENT_SCRIPT, keys, args);
+
+            CounterDeltas message = new CounterDeltas();
+            message.setOrigin(instanceId);
+            message.setField(field);
+            message.setDeltas(deltas);
+            stringRedisTemplate.convertAndSend(INVALIDATE_CHANNEL, JSON.toJSONString(message));
+        } catch (Exception e) {
+            log.warn("同步文章详情缓存中的计数失败", e);
+        }
+    }
+
+    private void applyRemoteDeltas(CounterDeltas message) {
+        if (instanceId.equals(message.getOrigin()) || message.getDeltas() == null) {
+            return;
+        }
+        patchLocal(message.getField(), message.getDeltas());
+    }
+
+    private void patchLocal(String field, Map<Long, Long> deltas) {
+        deltas.forEach((id, delta) -> local.asMap().computeIfPresent(id, (key, cached) -> {
+            Article updated = copyOf(cached);
+            applyDelta(updated, field, delta);
+            return updated;
+        }));
+    }
+
+    private static void applyDelta(Article article, String field, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (VIEW_DELTA_FIELD.equals(field)) {
+            article.setViewCount((article.getViewCount() == null ? 0L : article.getViewCount()) + delta);
+        } else if (COMMENT_DELTA_FIELD.equals(field)) {
+            article.setCommentCount(Math.max(0L, (article.getCommentCount() == null ? 0L : article.getCommentCount()) + delta));
+        }
+    }
+
+    private Article getFromRedis(Long id) {
+        try {
+            List<Object> values = stringRedisTemplate.opsForHash().multiGet(KEY_PREFIX + id,
+                    List.of(DATA_FIELD, VIEW_DELTA_FIELD, COMMENT_DELTA_FIELD));
+            if (values.get(0) != null) {
+                l2Hits.increment();
+                Article article = JSON.parseObject((String) values.get(0), Article.class);
+                applyDelta(article, VIEW_DELTA_FIELD, parseLong(values.get(1)));
+                applyDelta(article, COMMENT_DELTA_FIELD, parseLong(values.get(2)));
+                return article;
+            }
+        } catch (Exception e) {
+            log.warn("读取文章详情Redis缓存失败：{}", id, e);
+        }
+        l2Misses.increment();
+        return null;
+    }
+
+    private void putToRedis(Article article) {
+        try {
+            stringRedisTemplate.execute(PUT_SCRIPT, List.of(KEY_PREFIX + article.getId()),
+                    JSON.toJSONString(article), String.valueOf(Duration.ofSeconds(l2TtlSeconds).toMillis()));
+        } catch (Exception e) {
+            log.warn("写入文章详情Redis缓存失败：{}", article.getId(), e);
+        }
+    }
+
+    private static long parseLong(Object value) {
+        return value == null ? 0L : Long.parseLong((String) value);
+    }
+
+    private static int weigh(Article article) {
+        long chars = length(article.getContent()) + length(article.getContentHtml()) + length(article.getTocHtml())
+                + length(article.getSummary()) + length(article.getTitle());
+        return (int) Math.min(Integer.MAX_VALUE, chars * 2 + ENTRY_OVERHEAD);
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private static Article copyOf(Article article) {
+        Article copy = new Article();
+        BeanUtils.copyProperties(article, copy);
+        return copy;
+    }
+
+    /**
+     * 通过失效频道广播的计数增量
+     */
+    @Data
+    public static class CounterDeltas {
+
+        /**
+         * 发送方实例标识
+         */
+        private String origin;
+
+        /**
+         * 增量字段：viewDelta 或 commentDelta
+         */
+        private String field;
+
+        private Map<Long, Long> deltas;
+    }
+}
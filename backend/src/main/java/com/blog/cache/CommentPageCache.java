@@ -0,0 +1,134 @@
+package com.blog.cache;
+
+import com.blog.common.CursorPage;
+import com.blog.dto.CommentDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 文章评论分页缓存
+ * <p>
+ * 按 (文章, 游标, 页大小) 缓存组装好的评论树。文章有新评论或评论被删除时，在事务提交后失效该文章的全部分页，
+ * 并通过 Redis 频道通知其他节点。缓存的分页对象被多个请求共享，调用方不得修改。
+ *
+ * @author blog
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentPageCache {
+
+    private static final String INVALIDATE_CHANNEL = "comment:page:invalidate";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${blog.comment.cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${blog.comment.cache.expire-seconds:600}")
+    private long expireSeconds;
+
+    private Cache<PageKey, CursorPage<CommentDto>> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(expireSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "commentPage");
+
+        listenerContainer.addMessageListener((message, pattern) -> {
+            Long articleId = Long.valueOf(new String(message.getBody()));
+            invalidateLocal(articleId);
+        }, new ChannelTopic(INVALIDATE_CHANNEL));
+    }
+
+    /**
+     * 获取评论分页，未命中时调用 loader 加载
+     */
+    public CursorPage<CommentDto> get(Long articleId, Long beforeId, int size, Supplier<CursorPage<CommentDto>> loader) {
+        return cache.get(new PageKey(articleId, beforeId, size), key -> loader.get());
+    }
+
+    /**
+     * 失效文章的全部评论分页；在事务中调用时延迟到提交之后
+     */
+    public void invalidate(Long articleId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doInvalidate(articleId);
+                }
+            });
+        } else {
+            doInvalidate(articleId);
+        }
+    }
+
+    private void doInvalidate(Long articleId) {
+        invalidateLocal(articleId);
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATE_CHANNEL, String.valueOf(articleId));
+        } catch (Exception e) {
+            log.warn("通知其他节点失效评论缓存失败：{}", articleId, e);
+        }
+    }
+
+    private void invalidateLocal(Long articleId) {
+        // 同一文章的分页数量有限，按文章遍历键即可
+        cache.asMap().keySet().removeIf(key -> key.articleId.equals(articleId));
+    }
+
+    private static final class PageKey {
+
+        private final Long articleId;
+
+        private final Long beforeId;
+
+        private final int size;
+
+        PageKey(Long articleId, Long beforeId, int size) {
+            this.articleId = articleId;
+            this.beforeId = beforeId;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PageKey)) {
+                return false;
+            }
+            PageKey other = (PageKey) o;
+            return articleId.equals(other.articleId) && Objects.equals(beforeId, other.beforeId) && size == other.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(articleId, beforeId, size);
+        }
+    }
+}
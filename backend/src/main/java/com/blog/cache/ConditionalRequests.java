@@ -0,0 +1,56 @@
+package com.blog.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 条件请求（ETag / Last-Modified）
+ * <p>
+ * Controller 在加载数据之前用轻量的版本信息调用 {@link #checkNotModified}，返回 true 时直接返回 null，
+ * 由 Spring 回复 304 且不序列化响应体；返回 false 时 ETag 和 Last-Modified 已写入响应头。
+ * 命中情况按接口记录到 blog.http.conditional 指标。
+ *
+ * @author blog
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalRequests {
+
+    private static final String METRIC_NAME = "blog.http.conditional";
+
+    private static final String NO_CACHE = CacheControl.noCache().getHeaderValue();
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 校验条件请求
+     *
+     * @param endpoint     接口名，作为指标标签
+     * @param etag         弱 ETag，如 W/"xxx"；为 null 时不校验 ETag
+     * @param lastModified 最后修改时间，没有时传 null
+     * @return 客户端缓存仍然有效（已设置 304）时返回 true
+     */
+    public boolean checkNotModified(ServletWebRequest request, String endpoint, String etag, LocalDateTime lastModified) {
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            // 允许缓存但每次使用前必须重新验证
+            response.setHeader(HttpHeaders.CACHE_CONTROL, NO_CACHE);
+        }
+        long lastModifiedMillis = lastModified == null
+                ? -1
+                : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        boolean notModified = (etag != null || lastModifiedMillis >= 0)
+                && request.checkNotModified(etag, lastModifiedMillis);
+        meterRegistry.counter(METRIC_NAME, "endpoint", endpoint, "result", notModified ? "not_modified" : "full")
+                .increment();
+        return notModified;
+    }
+}
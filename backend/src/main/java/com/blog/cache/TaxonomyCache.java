@@ -0,0 +1,173 @@
+package com.blog.cache;
+
+import com.alibaba.fastjson2.JSON;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.blog.entity.Category;
+import com.blog.entity.Tag;
+import com.blog.mapper.CategoryMapper;
+import com.blog.mapper.TagMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 分类、标签快照
+ * <p>
+ * 分类和标签几乎每个页面都要展示，但很少变化。这里在内存中保存一份不可变快照，读取时不查库；
+ * 分类或标签写入后在事务提交时重新加载并整体替换，并通过 Redis 通知其他实例。
+ * 快照版本取内容摘要，相同数据在各实例上得到相同的 ETag。
+ *
+ * @author blog
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaxonomyCache {
+
+    private static final String REFRESH_CHANNEL = "taxonomy:refresh";
+
+    private final CategoryMapper categoryMapper;
+    private final TagMapper tagMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private volatile Snapshot snapshot;
+
+    @PostConstruct
+    public void init() {
+        reload();
+        listenerContainer.addMessageListener((message, pattern) -> {
+            // 消息携带发布方的新版本，本实例已是该版本时（包括自己发出的消息）无需重新加载
+            String version = new String(message.getBody(), StandardCharsets.UTF_8);
+            if (!version.equals(snapshot.getVersion())) {
+                reloadQuietly();
+            }
+        }, new ChannelTopic(REFRESH_CHANNEL));
+    }
+
+    /**
+     * 获取当前快照
+     */
+    public Snapshot current() {
+        return snapshot;
+    }
+
+    /**
+     * 分类或标签变更后调用；在事务中调用时延迟到提交之后
+     */
+    public void refresh() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doRefresh();
+                }
+            });
+        } else {
+            doRefresh();
+        }
+    }
+
+    private void doRefresh() {
+        reloadQuietly();
+        try {
+            stringRedisTemplate.convertAndSend(REFRESH_CHANNEL, snapshot.getVersion());
+        } catch (Exception e) {
+            log.warn("通知其他实例刷新分类标签快照失败", e);
+        }
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("加载分类标签快照失败，继续使用旧快照", e);
+        }
+    }
+
+    private synchronized void reload() {
+        List<Category> categories = categoryMapper.selectList(
+                new LambdaQueryWrapper<Category>().orderByAsc(Category::getId));
+        List<Tag> tags = tagMapper.selectList(
+                new LambdaQueryWrapper<Tag>().orderByAsc(Tag::getId));
+        Snapshot loaded = new Snapshot(categories, tags);
+        Snapshot previous = snapshot;
+        snapshot = loaded;
+        if (previous == null || !previous.getVersion().equals(loaded.getVersion())) {
+            log.info("分类标签快照已更新，版本：{}，分类：{}，标签：{}", loaded.getVersion(), categories.size(), tags.size());
+        }
+    }
+
+    /**
+     * 不可变快照；列表中的实体只供读取，不得修改
+     */
+    @Getter
+    public static final class Snapshot {
+
+        private final String version;
+
+        /**
+         * 弱 ETag（响应体中包含时间戳，不逐字节相同）
+         */
+        private final String etag;
+
+        private final List<Category> categories;
+
+        private final List<Tag> tags;
+
+        @Getter(AccessLevel.NONE)
+        private final Map<Long, Category> categoriesById;
+
+        @Getter(AccessLevel.NONE)
+        private final Map<Long, Tag> tagsById;
+
+        Snapshot(List<Category> categories, List<Tag> tags) {
+            this.categories = Collections.unmodifiableList(categories);
+            this.tags = Collections.unmodifiableList(tags);
+            this.categoriesById = categories.stream()
+                    .collect(Collectors.toMap(Category::getId, Function.identity(), (a, b) -> a, LinkedHashMap::new));
+            this.tagsById = tags.stream()
+                    .collect(Collectors.toMap(Tag::getId, Function.identity(), (a, b) -> a, LinkedHashMap::new));
+            this.version = digest(categories, tags);
+            this.etag = "W/\"" + version + "\"";
+        }
+
+        public Category getCategory(Long id) {
+            return categoriesById.get(id);
+        }
+
+        public Tag getTag(Long id) {
+            return tagsById.get(id);
+        }
+
+        private static String digest(List<Category> categories, List<Tag> tags) {
+            try {
+                MessageDigest sha = MessageDigest.getInstance("SHA-256");
+                sha.update(JSON.toJSONString(categories).getBytes(StandardCharsets.UTF_8));
+                sha.update(JSON.toJSONString(tags).getBytes(StandardCharsets.UTF_8));
+                return HexFormat.of().formatHex(sha.digest(), 0, 8);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
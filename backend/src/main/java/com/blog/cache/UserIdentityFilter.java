@@ -0,0 +1,219 @@
+package com.blog.cache;
+
+import com.blog.entity.User;
+import com.blog.mapper.UserMapper;
+import com.blog.utils.BloomFilter;
+import com.blog.utils.Hashing;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 已占用用户名和邮箱的布隆过滤器
+ * <p>
+ * 启动后在后台流式读取用户表（包括已逻辑删除的用户，它们仍占用唯一索引）构建，注册成功后加入并通过 Redis 频道通知其他实例。
+ * 判定一定不存在时注册校验和可用性查询直接跳过数据库；可能存在时再查库确认。构建完成前一律按可能存在处理。
+ * 元素数超过容量时按两倍容量后台重建。
+ * 用户名和邮箱经兼容分解（NFKD）、去掉重音并大小写折叠后再判断，全角字母、ß/ss 等按数据库的宽松比较规则归并；
+ * 非 ASCII 的取值无法保证与 utf8mb4_unicode_ci 完全一致，一律按可能存在处理、交给数据库判断。
+ *
+ * @author blog
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserIdentityFilter {
+
+    private static final String ADDED_CHANNEL = "user:identity:added";
+
+    private static final String USERNAME_PREFIX = "u:";
+
+    private static final String EMAIL_PREFIX = "e:";
+
+    private final UserMapper userMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${blog.user-filter.expected-insertions:100000}")
+    private long expectedInsertions;
+
+    @Value("${blog.user-filter.fpp:0.001}")
+    private double fpp;
+
+    /**
+     * 构建完成前为 null
+     */
+    private volatile BloomFilter filter;
+
+    /**
+     * 重建期间新加入的元素同时写入正在构建的过滤器
+     */
+    private volatile BloomFilter building;
+
+    /**
+     * 当前过滤器中的元素数（只统计实际设置了新位的加入）
+     */
+    private final AtomicLong inserted = new AtomicLong();
+
+    /**
+     * 本实例标识，广播消息带上它，收到自己发出的消息时跳过
+     */
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+    private ExecutorService maintainer;
+
+    private Counter absentHits;
+
+    private Counter maybeHits;
+
+    @PostConstruct
+    public void init() {
+        absentHits = Counter.builder("blog.user.identity.filter").tag("result", "absent").register(meterRegistry);
+        maybeHits = Counter.builder("blog.user.identity.filter").tag("result", "maybe").register(meterRegistry);
+
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            int separator = body.indexOf('|');
+            if (separator > 0 && !body.substring(0, separator).equals(instanceId)) {
+                put(body.substring(separator + 1));
+            }
+        }, new ChannelTopic(ADDED_CHANNEL));
+
+        maintainer = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "user-identity-filter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduleRebuild();
+    }
+
+    /**
+     * 用户名是否可能已被占用；返回 false 时一定未被占用
+     */
+    public boolean mightContainUsername(String username) {
+        String normalized = normalize(username);
+        return !isAscii(normalized) || mightContain(USERNAME_PREFIX + normalized);
+    }
+
+    /**
+     * 邮箱是否可能已被占用；返回 false 时一定未被占用
+     */
+    public boolean mightContainEmail(String email) {
+        String normalized = normalize(email);
+        return !isAscii(normalized) || mightContain(EMAIL_PREFIX + normalized);
+    }
+
+    /**
+     * 注册成功后调用，加入本实例并通知其他实例
+     */
+    public void add(String username, String email) {
+        for (String key : new String[]{USERNAME_PREFIX + normalize(username), EMAIL_PREFIX + normalize(email)}) {
+            put(key);
+            try {
+                stringRedisTemplate.convertAndSend(ADDED_CHANNEL, instanceId + "|" + key);
+            } catch (Exception e) {
+                log.warn("广播用户名/邮箱占用失败，其他实例将在查库时发现：{}", key, e);
+            }
+        }
+    }
+
+    private boolean mightContain(String key) {
+        BloomFilter current = filter;
+        if (current == null) {
+            return true;
+        }
+        boolean maybe = current.mightContain(Hashing.hash64(key));
+        (maybe ? maybeHits : absentHits).increment();
+        return maybe;
+    }
+
+    private void put(String key) {
+        long hash = Hashing.hash64(key);
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(hash);
+        }
+        BloomFilter current = filter;
+        // 已存在的元素（如重建期间重复加入）不计数，避免过早触发重建
+        if (current != null && current.put(hash) && inserted.incrementAndGet() > current.getExpectedInsertions()) {
+            scheduleRebuild();
+        }
+    }
+
+    private void scheduleRebuild() {
+        if (rebuilding.compareAndSet(false, true)) {
+            maintainer.execute(() -> {
+                try {
+                    rebuild();
+                } catch (Exception e) {
+                    log.error("构建用户名/邮箱布隆过滤器失败，暂时全部查库", e);
+                } finally {
+                    building = null;
+                    rebuilding.set(false);
+                }
+            });
+        }
+    }
+
+    private void rebuild() {
+        long startTime = System.currentTimeMillis();
+        long users = userMapper.countAll();
+        // 每个用户两个元素，预留一倍增长空间
+        BloomFilter next = new BloomFilter(Math.max(expectedInsertions, users * 4), fpp);
+        building = next;
+
+        long[] count = new long[1];
+        userMapper.streamIdentities(context -> {
+            User user = context.getResultObject();
+            if (next.put(Hashing.hash64(USERNAME_PREFIX + normalize(user.getUsername())))) {
+                count[0]++;
+            }
+            if (next.put(Hashing.hash64(EMAIL_PREFIX + normalize(user.getEmail())))) {
+                count[0]++;
+            }
+        });
+
+        inserted.set(count[0]);
+        filter = next;
+        log.info("用户名/邮箱布隆过滤器构建完成，{}个元素，容量{}，耗时{}ms", count[0], next.getExpectedInsertions(),
+                System.currentTimeMillis() - startTime);
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFKD);
+        // 先转大写再转小写完成大小写折叠，ß 等特殊字符会展开为 ss
+        return decomposed.replaceAll("\\p{M}", "").toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isAscii(String value) {
+        return value.chars().allMatch(c -> c < 0x80);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        maintainer.shutdownNow();
+    }
+}
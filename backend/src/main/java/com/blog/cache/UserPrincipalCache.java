@@ -0,0 +1,84 @@
+package com.blog.cache;
+
+import com.blog.entity.User;
+import com.blog.mapper.UserMapper;
+import com.blog.security.UserPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * 用户主体缓存
+ * <p>
+ * JWT 认证过滤器每个请求都要确认用户仍然存在、状态和角色，这里按用户ID缓存认证所需的字段，
+ * 避免每次请求查询用户表。用户信息变更后在事务提交时失效，TTL 只作为兜底。
+ *
+ * @author blog
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserPrincipalCache {
+
+    private final UserMapper userMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${blog.user-principal-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${blog.user-principal-cache.expire-seconds:300}")
+    private long expireSeconds;
+
+    private Cache<Long, UserPrincipal> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(expireSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userPrincipal");
+    }
+
+    /**
+     * 获取用户主体，缓存未命中时查库
+     *
+     * @return 用户不存在时返回 null（不缓存）
+     */
+    public UserPrincipal get(Long userId) {
+        return cache.get(userId, id -> {
+            User user = userMapper.selectById(id);
+            return user == null ? null : UserPrincipal.of(user);
+        });
+    }
+
+    /**
+     * 失效用户主体；在事务中调用时延迟到提交之后，避免并发请求把旧值重新加载进缓存
+     */
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                }
+            });
+        } else {
+            cache.invalidate(userId);
+        }
+    }
+}
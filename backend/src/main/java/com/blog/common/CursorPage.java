@@ -0,0 +1,31 @@
+package com.blog.common;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 游标分页结果
+ * 
+ * @author blog
+ */
+@Data
+@Schema(description = "游标分页结果")
+public class CursorPage<T> {
+
+    @Schema(description = "当前页数据")
+    private List<T> records;
+
+    @Schema(description = "下一页游标，没有更多数据时为空")
+    private String nextCursor;
+
+    @Schema(description = "是否还有更多数据")
+    private Boolean hasMore;
+
+    public CursorPage(List<T> records, String nextCursor) {
+        this.records = records;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+}
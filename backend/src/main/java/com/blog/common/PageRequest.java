@@ -12,6 +12,13 @@ import lombok.Data;
 @Schema(description = "分页查询请求")
 public class PageRequest {
 
+    /**
+     * 每页最大条数，超过时按该值查询
+     */
+    public static final int MAX_SIZE = 100;
+
+    private static final int DEFAULT_SIZE = 10;
+
     @Schema(description = "页码", example = "1")
     private Integer page = 1;
 
@@ -29,7 +36,17 @@ public class PageRequest {
     }
 
     public Integer getSize() {
-        return size != null && size > 0 ? size : 10;
+        return clampSize(size);
+    }
+
+    /**
+     * 将每页条数限制在 1 到 {@link #MAX_SIZE} 之间，未传或非正数时取默认值
+     */
+    public static int clampSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
     }
 
     public String getSortOrder() {
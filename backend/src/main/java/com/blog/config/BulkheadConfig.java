@@ -0,0 +1,69 @@
+package com.blog.config;
+
+import com.blog.bulkhead.Bulkhead;
+import com.blog.bulkhead.BulkheadDataSource;
+import com.blog.bulkhead.BulkheadStringRedisTemplate;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * 数据库与 Redis 舱壁配置
+ * <p>
+ * 许可数默认等于连接池大小：数据库取 Hikari 的 maximum-pool-size，Redis 取 lettuce 连接池的 max-active。
+ * 启用虚拟线程后 Tomcat 不再用线程数限制并发，由舱壁限制实际访问下游的请求数。
+ *
+ * @author blog
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "blog.bulkhead", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BulkheadConfig {
+
+    /**
+     * 在数据源初始化后包装为 {@link BulkheadDataSource}
+     */
+    @Bean
+    public static BeanPostProcessor dataSourceBulkheadPostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                                                    Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource) {
+                    return bean;
+                }
+                int permits = environment.getProperty("blog.bulkhead.db.max-concurrent", Integer.class, 0);
+                if (permits <= 0) {
+                    permits = bean instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+                }
+                long timeoutMs = environment.getProperty("blog.bulkhead.db.acquire-timeout-ms", Long.class, 1000L);
+                log.info("数据库舱壁已启用：{}，许可数{}，等待超时{}ms", beanName, permits, timeoutMs);
+                return new BulkheadDataSource(dataSource, new Bulkhead("db", permits, timeoutMs, meterRegistry.getObject()));
+            }
+        };
+    }
+
+    /**
+     * 替换 Spring Boot 默认的 StringRedisTemplate
+     */
+    @Bean
+    public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory connectionFactory, MeterRegistry meterRegistry,
+                                                   @Value("${blog.bulkhead.redis.max-concurrent:0}") int maxConcurrent,
+                                                   @Value("${spring.data.redis.lettuce.pool.max-active:8}") int poolSize,
+                                                   @Value("${blog.bulkhead.redis.acquire-timeout-ms:500}") long timeoutMs) {
+        int permits = maxConcurrent > 0 ? maxConcurrent : poolSize;
+        log.info("Redis舱壁已启用，许可数{}，等待超时{}ms", permits, timeoutMs);
+        return new BulkheadStringRedisTemplate(connectionFactory, new Bulkhead("redis", permits, timeoutMs, meterRegistry));
+    }
+}
@@ -4,11 +4,10 @@ import com.blog.filter.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -29,11 +28,6 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.csrf(csrf -> csrf.disable())
@@ -41,16 +35,23 @@ public class SecurityConfig {
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
                 // 允许访问的路径
-                .requestMatchers("/user/register", "/user/login").permitAll()
-                // 测试接口
+                .requestMatchers("/user/register", "/user/login", "/user/check-availability").permitAll()
+                // 测试接口；密码编码占用登录的哈希线程池，仅管理员可用
+                .requestMatchers("/test/encode-password").hasRole("ADMIN")
                 .requestMatchers("/test/**").permitAll()
                 // Knife4j文档相关路径
                 .requestMatchers("/doc.html", "/webjars/**", "/v3/api-docs/**").permitAll()
                 .requestMatchers("/swagger-resources/**", "/swagger-ui/**").permitAll()
                 .requestMatchers("/favicon.ico", "/error").permitAll()
+                // 健康检查
+                .requestMatchers("/actuator/health").permitAll()
                 // 文章和分类相关公开接口
-                .requestMatchers("/article/list", "/article/*/view", "/article/hot").permitAll()
+                .requestMatchers("/article/list", "/article/*/view", "/article/*/content", "/article/hot", "/article/tagged").permitAll()
                 .requestMatchers("/category/list", "/tag/list").permitAll()
+                .requestMatchers(HttpMethod.GET, "/sitemap.xml", "/sitemap-*.xml", "/feed.xml").permitAll()
+                .requestMatchers(HttpMethod.GET, "/comment/article/*", "/comment/*/replies").permitAll()
+                // 管理员接口
+                .requestMatchers("/article/import", "/article/import/**", "/article/export", "/article/backup").hasRole("ADMIN")
                 // 其他请求需要认证
                 .anyRequest().authenticated()
             )
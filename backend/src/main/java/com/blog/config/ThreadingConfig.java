@@ -0,0 +1,36 @@
+package com.blog.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 请求执行模式
+ * <p>
+ * 由 spring.threads.virtual.enabled 选择：关闭时使用 Tomcat 固定大小的平台线程池，开启时每个请求运行在虚拟线程上。
+ * 虚拟线程需要 JDK 21 及以上运行，低版本 JDK 上该配置不生效，启动时给出提示。
+ *
+ * @author blog
+ */
+@Slf4j
+@Configuration
+public class ThreadingConfig {
+
+    private static final int VIRTUAL_THREADS_MIN_JAVA = 21;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @PostConstruct
+    public void logExecutionMode() {
+        int javaVersion = Runtime.version().feature();
+        if (!virtualThreads) {
+            log.info("请求执行模式：平台线程池");
+        } else if (javaVersion < VIRTUAL_THREADS_MIN_JAVA) {
+            log.warn("已开启虚拟线程，但当前JDK版本为{}，需要{}及以上，仍使用平台线程池", javaVersion, VIRTUAL_THREADS_MIN_JAVA);
+        } else {
+            log.info("请求执行模式：虚拟线程");
+        }
+    }
+}
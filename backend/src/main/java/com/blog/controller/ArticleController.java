@@ -1,21 +1,40 @@
 package com.blog.controller;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.blog.backup.BackupFormat;
+import com.blog.cache.ArticleBodyCache;
+import com.blog.cache.ArticleCollectionVersion;
+import com.blog.cache.ConditionalRequests;
+import com.blog.common.CursorPage;
+import com.blog.common.PageRequest;
 import com.blog.common.Result;
 import com.blog.dto.ArticleQueryRequest;
 import com.blog.dto.ArticleRequest;
+import com.blog.dto.ArticleSummaryDto;
 import com.blog.entity.Article;
+import com.blog.export.ExportProgress;
+import com.blog.importer.ImportProgress;
+import com.blog.security.JwtPrincipal;
 import com.blog.service.ArticleService;
-import com.blog.utils.JwtUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 /**
@@ -30,14 +49,29 @@ import java.util.List;
 @Tag(name = "文章管理", description = "文章CRUD、查询、点赞等相关接口")
 public class ArticleController {
 
+    private static final DateTimeFormatter BACKUP_FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
     private final ArticleService articleService;
-    private final JwtUtil jwtUtil;
+    private final ArticleCollectionVersion articleCollectionVersion;
+    private final ConditionalRequests conditionalRequests;
+
+    /**
+     * 偏移分页允许的最大页码，更深的页需使用游标分页
+     */
+    @Value("${blog.pagination.max-offset-page:50}")
+    private int maxOffsetPage;
 
     @GetMapping("/list")
     @Operation(summary = "分页查询文章列表", description = "支持按分类、状态、关键词筛选")
-    public Result<IPage<Article>> getArticleList(ArticleQueryRequest request) {
+    public Result<IPage<ArticleSummaryDto>> getArticleList(ArticleQueryRequest request, ServletWebRequest webRequest) {
         try {
-            IPage<Article> page = articleService.getArticlePage(
+            if (request.getPage() > maxOffsetPage) {
+                return Result.badRequest("页码过大，请使用游标分页");
+            }
+            if (conditionalRequests.checkNotModified(webRequest, "article.list", collectionETag(), null)) {
+                return null;
+            }
+            IPage<ArticleSummaryDto> page = articleService.getArticlePage(
                 request.getPage(), request.getSize(), 
                 request.getCategoryId(), request.getStatus(), request.getKeyword()
             );
@@ -48,11 +82,45 @@ public class ArticleController {
         }
     }
 
+    @GetMapping(value = "/list", params = "cursor")
+    @Operation(summary = "游标分页查询文章列表", description = "传入上一页返回的nextCursor继续翻页，cursor为空时从第一页开始")
+    public Result<CursorPage<ArticleSummaryDto>> getArticleListByCursor(ArticleQueryRequest request,
+                                                             @RequestParam(required = false) String cursor,
+                                                             ServletWebRequest webRequest) {
+        try {
+            if (conditionalRequests.checkNotModified(webRequest, "article.list", collectionETag(), null)) {
+                return null;
+            }
+            CursorPage<ArticleSummaryDto> page = articleService.getArticleCursorPage(
+                cursor, request.getSize(),
+                request.getCategoryId(), request.getStatus(), request.getKeyword()
+            );
+            return Result.success(page);
+        } catch (IllegalArgumentException e) {
+            return Result.badRequest(e.getMessage());
+        } catch (Exception e) {
+            log.error("游标查询文章列表失败", e);
+            return Result.error(e.getMessage());
+        }
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "获取文章详情", description = "根据文章ID获取文章详情，会自动增加阅读量")
-    public Result<Article> getArticleDetail(@PathVariable Long id) {
+    public Result<Article> getArticleDetail(@PathVariable Long id, HttpServletRequest httpRequest,
+                                            ServletWebRequest webRequest) {
         try {
-            Article article = articleService.getArticleDetail(id);
+            Long userId = getUserIdFromRequest(httpRequest);
+            String visitorKey = getVisitorKey(httpRequest, userId);
+            
+            // 先用元数据校验条件请求，客户端缓存仍有效时只记阅读量，不加载正文
+            Article meta = articleService.getArticleMeta(id);
+            if (meta != null && conditionalRequests.checkNotModified(webRequest, "article.detail",
+                    detailETag(meta, userId), meta.getUpdateTime())) {
+                articleService.recordView(meta, visitorKey);
+                return null;
+            }
+            
+            Article article = articleService.getArticleDetail(id, userId, visitorKey);
             return Result.success(article);
         } catch (Exception e) {
             log.error("获取文章详情失败", e);
@@ -60,6 +128,38 @@ public class ArticleController {
         }
     }
 
+    @GetMapping("/{id}/content")
+    @Operation(summary = "获取文章正文", description = "返回已发布文章的正文、渲染后的HTML和目录；客户端支持gzip时直接返回预压缩的字节")
+    public ResponseEntity<?> getArticleContent(@PathVariable Long id, ServletWebRequest webRequest) {
+        try {
+            Article meta = articleService.getArticleMeta(id);
+            if (meta == null || !"PUBLISHED".equals(meta.getStatus())) {
+                return ResponseEntity.ok(Result.notFound("文章不存在"));
+            }
+            if (conditionalRequests.checkNotModified(webRequest, "article.content",
+                    "W/\"b" + meta.getId() + "-" + toEpochMillis(meta.getUpdateTime()) + "\"", meta.getUpdateTime())) {
+                return null;
+            }
+            
+            ArticleBodyCache.CompressedBody body = articleService.getArticleBody(meta);
+            if (body == null) {
+                return ResponseEntity.ok(Result.notFound("文章不存在"));
+            }
+            boolean gzip = acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) {
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            // 字节数组原样写出，不再序列化或压缩
+            return response.body(gzip ? body.getGzip() : body.getIdentity());
+        } catch (Exception e) {
+            log.error("获取文章正文失败", e);
+            return ResponseEntity.ok(Result.error(e.getMessage()));
+        }
+    }
+
     @PostMapping
     @Operation(summary = "创建文章", description = "创建新文章，需要登录")
     public Result<Void> createArticle(@Valid @RequestBody ArticleRequest request, 
@@ -114,6 +214,85 @@ public class ArticleController {
         }
     }
 
+    @PostMapping(value = "/import", consumes = {"application/zip", "application/x-tar", "application/gzip",
+            "application/x-gzip", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @Operation(summary = "批量导入文章", description = "请求体为包含Markdown文件（支持front-matter）的zip、tar或tar.gz归档，边上传边导入，需要管理员权限")
+    public Result<ImportProgress> importArticles(@RequestParam(required = false) String importId,
+                                                 HttpServletRequest httpRequest) {
+        try {
+            JwtPrincipal principal = JwtPrincipal.from(httpRequest);
+            if (principal == null) {
+                return Result.unauthorized("未登录");
+            }
+            
+            // 直接读取请求体，不经过 multipart 解析，归档不会整体缓存到内存或临时文件
+            ImportProgress progress = articleService.importArticles(httpRequest.getInputStream(),
+                    principal.getUserId(), importId);
+            return Result.success(progress);
+        } catch (Exception e) {
+            log.error("批量导入文章失败", e);
+            return Result.error(e.getMessage());
+        }
+    }
+
+    @GetMapping("/import/{importId}")
+    @Operation(summary = "查询导入进度", description = "导入期间及完成后一小时内可查询，需要管理员权限")
+    public Result<ImportProgress> getImportProgress(@PathVariable String importId) {
+        ImportProgress progress = articleService.getImportProgress(importId);
+        return progress == null ? Result.notFound("导入任务不存在") : Result.success(progress);
+    }
+
+    @PostMapping("/export")
+    @Operation(summary = "导出静态站点", description = "在后台将已发布文章、列表页和分类页导出为静态HTML/JSON，默认增量导出，需要管理员权限")
+    public Result<ExportProgress> exportStaticSite(@RequestParam(defaultValue = "false") boolean full) {
+        try {
+            return Result.success(articleService.exportStaticSite(full));
+        } catch (Exception e) {
+            log.error("启动静态站点导出失败", e);
+            return Result.error(e.getMessage());
+        }
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "查询静态站点导出进度", description = "返回最近一次导出的进度，需要管理员权限")
+    public Result<ExportProgress> getExportProgress() {
+        ExportProgress progress = articleService.getExportProgress();
+        return progress == null ? Result.notFound("尚未导出过静态站点") : Result.success(progress);
+    }
+
+    @GetMapping("/backup")
+    @Operation(summary = "备份全部文章", description = "流式导出全部文章（含正文、标签、评论），format 为 ndjson 或 zip；中断后以最后一个断点的 afterId 续传，需要管理员权限")
+    public void backupArticles(@RequestParam(defaultValue = "ndjson") String format,
+                               @RequestParam(defaultValue = "0") long afterId,
+                               HttpServletResponse response) throws IOException {
+        BackupFormat backupFormat;
+        try {
+            backupFormat = BackupFormat.of(format);
+        } catch (RuntimeException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        String fileName = "blog-backup-" + BACKUP_FILE_TIME.format(LocalDateTime.now())
+                + (afterId > 0 ? "-after-" + afterId : "") + "." + backupFormat.getExtension();
+        response.setContentType(backupFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+        try {
+            articleService.backupArticles(response.getOutputStream(), backupFormat, afterId);
+        } catch (IOException e) {
+            // 客户端断开，可从最后一个断点续传
+            log.warn("文章备份中断：{}", e.getMessage());
+        } catch (RuntimeException e) {
+            if (!response.isCommitted()) {
+                // 尚未写出内容，交给全局异常处理返回错误
+                response.reset();
+                throw e;
+            }
+            // 已写出部分内容，响应以缺少结束记录的方式截断，客户端据此判断备份不完整
+            log.error("文章备份失败", e);
+        }
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "删除文章", description = "删除文章，需要登录且是文章作者")
     public Result<Void> deleteArticle(@PathVariable Long id, 
@@ -205,10 +384,16 @@ public class ArticleController {
     }
 
     @GetMapping("/hot")
-    @Operation(summary = "获取热门文章", description = "根据阅读量获取热门文章")
-    public Result<List<Article>> getHotArticles(@RequestParam(defaultValue = "10") Integer limit) {
+    @Operation(summary = "获取热门文章", description = "按随时间衰减的阅读、点赞、评论热度排序，可按分类筛选")
+    public Result<List<ArticleSummaryDto>> getHotArticles(@RequestParam(defaultValue = "10") Integer limit,
+                                                          @RequestParam(required = false) Long categoryId,
+                                                          ServletWebRequest webRequest) {
         try {
-            List<Article> articles = articleService.getHotArticles(limit);
+            String etag = collectionETag("h", articleService.getHotArticlesVersion());
+            if (conditionalRequests.checkNotModified(webRequest, "article.hot", etag, null)) {
+                return null;
+            }
+            List<ArticleSummaryDto> articles = articleService.getHotArticles(limit, categoryId);
             return Result.success(articles);
         } catch (Exception e) {
             log.error("获取热门文章失败", e);
@@ -218,9 +403,13 @@ public class ArticleController {
 
     @GetMapping("/recommend")
     @Operation(summary = "获取推荐文章", description = "获取推荐的文章")
-    public Result<List<Article>> getRecommendArticles(@RequestParam(defaultValue = "10") Integer limit) {
+    public Result<List<ArticleSummaryDto>> getRecommendArticles(@RequestParam(defaultValue = "10") Integer limit,
+                                                                ServletWebRequest webRequest) {
         try {
-            List<Article> articles = articleService.getRecommendArticles(limit);
+            if (conditionalRequests.checkNotModified(webRequest, "article.recommend", collectionETag(), null)) {
+                return null;
+            }
+            List<ArticleSummaryDto> articles = articleService.getRecommendArticles(PageRequest.clampSize(limit));
             return Result.success(articles);
         } catch (Exception e) {
             log.error("获取推荐文章失败", e);
@@ -228,13 +417,49 @@ public class ArticleController {
         }
     }
 
+    @GetMapping("/tagged")
+    @Operation(summary = "按标签查询文章", description = "mode=all 时须包含全部标签，mode=any 时包含任一标签，按发布时间倒序")
+    public Result<IPage<ArticleSummaryDto>> getArticlesByTags(@RequestParam List<Long> tagIds,
+                                                  @RequestParam(defaultValue = "all") String mode,
+                                                  @RequestParam(defaultValue = "1") Integer page,
+                                                  @RequestParam(defaultValue = "10") Integer size,
+                                                  ServletWebRequest webRequest) {
+        try {
+            if (tagIds.isEmpty() || tagIds.size() > 20) {
+                return Result.badRequest("标签数量须在1-20个之间");
+            }
+            if (!"all".equals(mode) && !"any".equals(mode)) {
+                return Result.badRequest("mode只能为all或any");
+            }
+            if (page > maxOffsetPage) {
+                return Result.badRequest("页码过大");
+            }
+            String etag = collectionETag("t", articleService.getTagIndexVersion());
+            if (conditionalRequests.checkNotModified(webRequest, "article.tagged", etag, null)) {
+                return null;
+            }
+            IPage<ArticleSummaryDto> result = articleService.getArticlesByTags(tagIds, "all".equals(mode), page, PageRequest.clampSize(size));
+            return Result.success(result);
+        } catch (Exception e) {
+            log.error("按标签查询文章失败", e);
+            return Result.error(e.getMessage());
+        }
+    }
+
     @GetMapping("/search")
     @Operation(summary = "搜索文章", description = "根据关键词搜索文章")
-    public Result<IPage<Article>> searchArticles(@RequestParam String keyword,
+    public Result<IPage<ArticleSummaryDto>> searchArticles(@RequestParam String keyword,
                                                @RequestParam(defaultValue = "1") Integer page,
-                                               @RequestParam(defaultValue = "10") Integer size) {
+                                               @RequestParam(defaultValue = "10") Integer size,
+                                               ServletWebRequest webRequest) {
         try {
-            IPage<Article> result = articleService.searchArticles(keyword, page, size);
+            if (page > maxOffsetPage) {
+                return Result.badRequest("页码过大，请使用游标分页");
+            }
+            if (conditionalRequests.checkNotModified(webRequest, "article.search", collectionETag(), null)) {
+                return null;
+            }
+            IPage<ArticleSummaryDto> result = articleService.searchArticles(keyword, page, PageRequest.clampSize(size));
             return Result.success(result);
         } catch (Exception e) {
             log.error("搜索文章失败", e);
@@ -242,15 +467,110 @@ public class ArticleController {
         }
     }
 
+    @GetMapping(value = "/search", params = "cursor")
+    @Operation(summary = "游标分页搜索文章", description = "传入上一页返回的nextCursor继续翻页，cursor为空时从第一页开始")
+    public Result<CursorPage<ArticleSummaryDto>> searchArticlesByCursor(@RequestParam String keyword,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "10") Integer size,
+                                                             ServletWebRequest webRequest) {
+        try {
+            if (conditionalRequests.checkNotModified(webRequest, "article.search", collectionETag(), null)) {
+                return null;
+            }
+            CursorPage<ArticleSummaryDto> result = articleService.searchArticlesByCursor(keyword, cursor, PageRequest.clampSize(size));
+            return Result.success(result);
+        } catch (IllegalArgumentException e) {
+            return Result.badRequest(e.getMessage());
+        } catch (Exception e) {
+            log.error("游标搜索文章失败", e);
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 列表类接口的 ETag：文章集合版本不变时结果不变（阅读量、点赞数等计数除外，因此为弱 ETag）
+     */
+    private String collectionETag() {
+        return collectionETag("c", null);
+    }
+
+    /**
+     * 集合版本无法与其他实例对齐时返回 null，不返回 304
+     */
+    private String collectionETag(String prefix, Object suffix) {
+        String version = articleCollectionVersion.current();
+        if (version == null) {
+            return null;
+        }
+        return "W/\"" + prefix + version + (suffix == null ? "" : "-" + suffix) + "\"";
+    }
+
+    /**
+     * 详情的 ETag：由文章ID和更新时间计算；登录用户还包含用户ID和点赞状态，保证 likedByMe 准确
+     */
+    private String detailETag(Article meta, Long userId) {
+        StringBuilder etag = new StringBuilder("W/\"a").append(meta.getId()).append('-')
+                .append(toEpochMillis(meta.getUpdateTime()));
+        if (userId != null) {
+            etag.append("-u").append(userId).append(articleService.isLikedBy(meta.getId(), userId) ? "-l" : "");
+        }
+        return etag.append('"').toString();
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time == null ? 0L : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 客户端是否接受 gzip（忽略 q=0 的声明）
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim();
+            if (!"gzip".equalsIgnoreCase(coding) && !"*".equals(coding)) {
+                continue;
+            }
+            boolean rejected = false;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim().replace(" ", "");
+                if (param.startsWith("q=")) {
+                    try {
+                        rejected = Double.parseDouble(param.substring(2)) <= 0;
+                    } catch (NumberFormatException e) {
+                        rejected = true;
+                    }
+                }
+            }
+            if (!rejected) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 获取访客标识：登录用户使用用户ID，匿名访客使用IP（计数器内部只保存哈希）
+     * <p>
+     * 不直接读取 X-Forwarded-For（客户端可以任意伪造）；只有来自受信任代理的请求才会由
+     * Tomcat RemoteIpValve（server.forward-headers-strategy）把客户端地址写入 remoteAddr。
+     */
+    private String getVisitorKey(HttpServletRequest request, Long userId) {
+        if (userId != null) {
+            return "u:" + userId;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
     /**
      * 从请求中获取用户ID
      */
     private Long getUserIdFromRequest(HttpServletRequest request) {
-        String bearerToken = request.getHeader("Authorization");
-        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
-            String token = bearerToken.substring(7);
-            return jwtUtil.getUserIdFromToken(token);
-        }
-        return null;
+        // 令牌已由认证过滤器验证，这里直接读取结果
+        JwtPrincipal principal = JwtPrincipal.from(request);
+        return principal == null ? null : principal.getUserId();
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.blog.controller;
 
+import com.blog.cache.ConditionalRequests;
+import com.blog.cache.TaxonomyCache;
 import com.blog.common.Result;
 import com.blog.entity.Category;
 import com.blog.service.CategoryService;
@@ -8,6 +10,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
@@ -24,24 +27,25 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final TaxonomyCache taxonomyCache;
+    private final ConditionalRequests conditionalRequests;
 
     @GetMapping("/list")
     @Operation(summary = "获取分类列表", description = "获取所有启用的分类")
-    public Result<List<Category>> getCategoryList() {
-        try {
-            List<Category> categories = categoryService.list();
-            return Result.success(categories);
-        } catch (Exception e) {
-            log.error("获取分类列表失败", e);
-            return Result.error(e.getMessage());
+    public Result<List<Category>> getCategoryList(ServletWebRequest webRequest) {
+        // 从内存快照返回；If-None-Match 与快照版本一致时直接返回 304，不序列化响应体
+        TaxonomyCache.Snapshot snapshot = taxonomyCache.current();
+        if (conditionalRequests.checkNotModified(webRequest, "category.list", snapshot.getEtag(), null)) {
+            return null;
         }
+        return Result.success(snapshot.getCategories());
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "获取分类详情", description = "根据分类ID获取分类详情")
     public Result<Category> getCategoryDetail(@PathVariable Long id) {
         try {
-            Category category = categoryService.getById(id);
+            Category category = taxonomyCache.current().getCategory(id);
             if (category == null) {
                 return Result.notFound("分类不存在");
             }
@@ -0,0 +1,104 @@
+package com.blog.controller;
+
+import com.blog.common.CursorPage;
+import com.blog.common.Result;
+import com.blog.dto.CommentDto;
+import com.blog.dto.CommentRequest;
+import com.blog.entity.Comment;
+import com.blog.security.JwtPrincipal;
+import com.blog.service.CommentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+
+/**
+ * 评论Controller
+ * 
+ * @author blog
+ */
+@Slf4j
+@RestController
+@RequestMapping("/comment")
+@RequiredArgsConstructor
+@Tag(name = "评论管理", description = "评论查询、发表、删除相关接口")
+public class CommentController {
+
+    /**
+     * 单页最大条数
+     */
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final CommentService commentService;
+
+    @GetMapping("/article/{articleId}")
+    @Operation(summary = "获取文章评论", description = "游标分页返回根评论（最新在前）及其回复树，传入上一页的nextCursor继续翻页")
+    public Result<CursorPage<CommentDto>> getArticleComments(@PathVariable Long articleId,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "10") Integer size) {
+        try {
+            if (size < 1 || size > MAX_PAGE_SIZE) {
+                return Result.badRequest("每页条数须在1-" + MAX_PAGE_SIZE + "之间");
+            }
+            return Result.success(commentService.getArticleComments(articleId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return Result.badRequest(e.getMessage());
+        } catch (Exception e) {
+            log.error("获取文章评论失败", e);
+            return Result.error(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{rootId}/replies")
+    @Operation(summary = "获取评论回复", description = "游标分页返回根评论下的全部回复（最早在前）")
+    public Result<CursorPage<CommentDto>> getReplies(@PathVariable Long rootId,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "20") Integer size) {
+        try {
+            if (size < 1 || size > MAX_PAGE_SIZE) {
+                return Result.badRequest("每页条数须在1-" + MAX_PAGE_SIZE + "之间");
+            }
+            return Result.success(commentService.getReplies(rootId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return Result.badRequest(e.getMessage());
+        } catch (Exception e) {
+            log.error("获取评论回复失败", e);
+            return Result.error(e.getMessage());
+        }
+    }
+
+    @PostMapping
+    @Operation(summary = "发表评论", description = "发表评论或回复，需要登录")
+    public Result<Comment> addComment(@Valid @RequestBody CommentRequest request, HttpServletRequest httpRequest) {
+        try {
+            JwtPrincipal principal = JwtPrincipal.from(httpRequest);
+            if (principal == null) {
+                return Result.unauthorized("未登录");
+            }
+            return Result.success(commentService.addComment(request, principal.getUserId()));
+        } catch (Exception e) {
+            log.error("发表评论失败", e);
+            return Result.error(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "删除评论", description = "删除自己的评论，管理员可删除任意评论；删除根评论时连同回复一起删除")
+    public Result<Void> deleteComment(@PathVariable Long id, HttpServletRequest httpRequest) {
+        try {
+            JwtPrincipal principal = JwtPrincipal.from(httpRequest);
+            if (principal == null) {
+                return Result.unauthorized("未登录");
+            }
+            commentService.deleteComment(id, principal.getUserId(), httpRequest.isUserInRole("ADMIN"));
+            return Result.success();
+        } catch (Exception e) {
+            log.error("删除评论失败", e);
+            return Result.error(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.blog.controller;
+
+import com.blog.cache.ConditionalRequests;
+import com.blog.feed.SiteFeedCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 站点地图与RSS Controller
+ * 
+ * @author blog
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "站点地图与订阅", description = "sitemap.xml 和 RSS 订阅")
+public class SiteController {
+
+    private static final MediaType RSS_XML = MediaType.parseMediaType("application/rss+xml;charset=UTF-8");
+
+    private static final MediaType XML = MediaType.parseMediaType("application/xml;charset=UTF-8");
+
+    private final SiteFeedCache siteFeedCache;
+    private final ConditionalRequests conditionalRequests;
+
+    @GetMapping("/sitemap.xml")
+    @Operation(summary = "站点地图", description = "文章超过5万篇时为分片索引")
+    public ResponseEntity<Resource> getSitemap(ServletWebRequest webRequest) throws IOException {
+        return serve(webRequest, "sitemap", siteFeedCache.getSitemap(0), XML);
+    }
+
+    @GetMapping("/sitemap-{shard:\\d+}.xml")
+    @Operation(summary = "站点地图分片")
+    public ResponseEntity<Resource> getSitemapShard(@PathVariable int shard, ServletWebRequest webRequest)
+            throws IOException {
+        return serve(webRequest, "sitemap", shard > 0 ? siteFeedCache.getSitemap(shard) : null, XML);
+    }
+
+    @GetMapping("/feed.xml")
+    @Operation(summary = "RSS订阅", description = "最新发布的文章")
+    public ResponseEntity<Resource> getFeed(ServletWebRequest webRequest) throws IOException {
+        return serve(webRequest, "feed", siteFeedCache.getFeed(), RSS_XML);
+    }
+
+    /**
+     * 直接输出磁盘上的文件；文件在重新生成时整体替换，修改时间即内容版本
+     */
+    private ResponseEntity<Resource> serve(ServletWebRequest webRequest, String endpoint, Path file,
+                                           MediaType contentType) throws IOException {
+        if (file == null) {
+            return ResponseEntity.notFound().build();
+        }
+        long modified = Files.getLastModifiedTime(file).toMillis();
+        LocalDateTime lastModified = LocalDateTime.ofInstant(Instant.ofEpochMilli(modified), ZoneId.systemDefault());
+        String etag = "W/\"" + endpoint.charAt(0) + Long.toHexString(modified) + "-" + Files.size(file) + "\"";
+        if (conditionalRequests.checkNotModified(webRequest, endpoint, etag, lastModified)) {
+            return null;
+        }
+        return ResponseEntity.ok().contentType(contentType).body(new FileSystemResource(file));
+    }
+}
@@ -1,5 +1,7 @@
 package com.blog.controller;
 
+import com.blog.cache.ConditionalRequests;
+import com.blog.cache.TaxonomyCache;
 import com.blog.common.Result;
 import com.blog.entity.Tag;
 import com.blog.service.TagService;
@@ -8,6 +10,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
@@ -24,24 +27,25 @@ import java.util.List;
 public class TagController {
 
     private final TagService tagService;
+    private final TaxonomyCache taxonomyCache;
+    private final ConditionalRequests conditionalRequests;
 
     @GetMapping("/list")
     @Operation(summary = "获取标签列表", description = "获取所有标签")
-    public Result<List<Tag>> getTagList() {
-        try {
-            List<Tag> tags = tagService.list();
-            return Result.success(tags);
-        } catch (Exception e) {
-            log.error("获取标签列表失败", e);
-            return Result.error(e.getMessage());
+    public Result<List<Tag>> getTagList(ServletWebRequest webRequest) {
+        // 从内存快照返回；If-None-Match 与快照版本一致时直接返回 304，不序列化响应体
+        TaxonomyCache.Snapshot snapshot = taxonomyCache.current();
+        if (conditionalRequests.checkNotModified(webRequest, "tag.list", snapshot.getEtag(), null)) {
+            return null;
         }
+        return Result.success(snapshot.getTags());
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "获取标签详情", description = "根据标签ID获取标签详情")
     public Result<Tag> getTagDetail(@PathVariable Long id) {
         try {
-            Tag tag = tagService.getById(id);
+            Tag tag = taxonomyCache.current().getTag(id);
             if (tag == null) {
                 return Result.notFound("标签不存在");
             }
@@ -1,10 +1,10 @@
 package com.blog.controller;
 
 import com.blog.common.Result;
+import com.blog.security.PasswordHasher;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -21,7 +21,7 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "测试接口", description = "用于测试系统基本功能")
 public class TestController {
 
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
 
     @GetMapping("/hello")
     @Operation(summary = "测试接口", description = "返回Hello World")
@@ -38,7 +38,8 @@ public class TestController {
     @GetMapping("/encode-password")
     @Operation(summary = "密码编码", description = "生成密码的BCrypt哈希值")
     public Result<String> encodePassword(@RequestParam String password) {
-        String encoded = passwordEncoder.encode(password);
+        // 与登录、注册共用有界的哈希线程池和 cost，繁忙时返回503；仅管理员可调用，避免匿名请求挤占登录
+        String encoded = passwordHasher.encode(password);
         return Result.success("编码成功", encoded);
     }
 }
\ No newline at end of file
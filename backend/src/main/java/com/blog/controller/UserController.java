@@ -1,10 +1,11 @@
 package com.blog.controller;
 
+import com.blog.bulkhead.BulkheadFullException;
 import com.blog.common.Result;
 import com.blog.dto.*;
 import com.blog.entity.User;
+import com.blog.security.JwtPrincipal;
 import com.blog.service.UserService;
-import com.blog.utils.JwtUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -28,7 +29,6 @@ import jakarta.validation.Valid;
 public class UserController {
 
     private final UserService userService;
-    private final JwtUtil jwtUtil;
 
     @PostMapping("/register")
     @Operation(summary = "用户注册", description = "新用户注册接口")
@@ -37,20 +37,40 @@ public class UserController {
             userService.register(request.getUsername(), request.getPassword(), 
                                request.getEmail(), request.getNickname());
             return Result.success();
+        } catch (BulkheadFullException e) {
+            // 交给全局异常处理返回503
+            throw e;
         } catch (Exception e) {
             log.error("用户注册失败", e);
             return Result.error(e.getMessage());
         }
     }
 
+    @GetMapping("/check-availability")
+    @Operation(summary = "检查用户名/邮箱可用性", description = "注册前检查用户名、邮箱是否已被占用")
+    public Result<AvailabilityDto> checkAvailability(@RequestParam(required = false) String username,
+                                                     @RequestParam(required = false) String email) {
+        if ((username == null || username.isBlank()) && (email == null || email.isBlank())) {
+            return Result.badRequest("用户名和邮箱不能都为空");
+        }
+        try {
+            return Result.success(userService.checkAvailability(username, email));
+        } catch (Exception e) {
+            log.error("检查用户名/邮箱可用性失败", e);
+            return Result.error(e.getMessage());
+        }
+    }
+
     @PostMapping("/login")
     @Operation(summary = "用户登录", description = "用户登录接口，返回JWT令牌")
     public Result<String> login(@Valid @RequestBody LoginRequest request) {
         try {
             String token = userService.login(request.getUsername(), request.getPassword());
             return Result.success("登录成功", token);
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("用户登录失败", e);
+            // 登录失败不记录日志（撞库时每次失败都写日志本身就是负担），由登录指标统计
             return Result.error(e.getMessage());
         }
     }
@@ -59,17 +79,12 @@ public class UserController {
     @Operation(summary = "获取用户信息", description = "根据JWT令牌获取当前用户信息")
     public Result<UserInfoDto> getUserInfo(HttpServletRequest request) {
         try {
-            String token = getTokenFromRequest(request);
-            if (token == null) {
+            JwtPrincipal principal = JwtPrincipal.from(request);
+            if (principal == null) {
                 return Result.unauthorized("未登录");
             }
 
-            String username = jwtUtil.getUsernameFromToken(token);
-            if (username == null) {
-                return Result.unauthorized("令牌无效");
-            }
-
-            User user = userService.findByUsername(username);
+            User user = userService.findByUsername(principal.getUsername());
             if (user == null) {
                 return Result.notFound("用户不存在");
             }
@@ -89,14 +104,9 @@ public class UserController {
     public Result<Void> updateUserInfo(@Valid @RequestBody UpdateUserRequest request, 
                                      HttpServletRequest httpRequest) {
         try {
-            String token = getTokenFromRequest(httpRequest);
-            if (token == null) {
-                return Result.unauthorized("未登录");
-            }
-
-            Long userId = jwtUtil.getUserIdFromToken(token);
+            Long userId = getUserIdFromRequest(httpRequest);
             if (userId == null) {
-                return Result.unauthorized("令牌无效");
+                return Result.unauthorized("未登录");
             }
 
             userService.updateUserInfo(userId, request.getNickname(), request.getAvatar());
@@ -112,18 +122,15 @@ public class UserController {
     public Result<Void> changePassword(@Valid @RequestBody ChangePasswordRequest request,
                                      HttpServletRequest httpRequest) {
         try {
-            String token = getTokenFromRequest(httpRequest);
-            if (token == null) {
-                return Result.unauthorized("未登录");
-            }
-
-            Long userId = jwtUtil.getUserIdFromToken(token);
+            Long userId = getUserIdFromRequest(httpRequest);
             if (userId == null) {
-                return Result.unauthorized("令牌无效");
+                return Result.unauthorized("未登录");
             }
 
             userService.changePassword(userId, request.getOldPassword(), request.getNewPassword());
             return Result.success();
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
             log.error("修改密码失败", e);
             return Result.error(e.getMessage());
@@ -131,13 +138,10 @@ public class UserController {
     }
 
     /**
-     * 从请求中获取JWT令牌
+     * 从请求中获取用户ID（令牌已由认证过滤器验证）
      */
-    private String getTokenFromRequest(HttpServletRequest request) {
-        String bearerToken = request.getHeader("Authorization");
-        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
-            return bearerToken.substring(7);
-        }
-        return null;
+    private Long getUserIdFromRequest(HttpServletRequest request) {
+        JwtPrincipal principal = JwtPrincipal.from(request);
+        return principal == null ? null : principal.getUserId();
     }
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.blog.counter;
+
+import com.blog.mapper.ArticleMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+/**
+ * 文章评论数写缓冲
+ * <p>
+ * 发表、删除评论只在内存中累加每篇文章的评论数增量（可为负），由后台线程定时合并成一条多行 UPDATE 落库，
+ * 避免热门文章每条评论都去锁定文章行、与阅读量和点赞数的更新争用同一行。
+ * 增量在评论所在事务提交后才计入，回滚的评论不会影响计数。
+ *
+ * @author blog
+ */
+@Component
+public class CommentCountBuffer extends DeltaBuffer {
+
+    private final ArticleMapper articleMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${blog.comment-counter.flush-interval-ms:3000}")
+    private long flushIntervalMs;
+
+    @Value("${blog.comment-counter.flush-threshold:200}")
+    private long flushThreshold;
+
+    @Value("${blog.comment-counter.batch-size:500}")
+    private int batchSize;
+
+    public CommentCountBuffer(ArticleMapper articleMapper, MeterRegistry meterRegistry) {
+        super("评论数", "comment-count-flusher");
+        this.articleMapper = articleMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        start(flushIntervalMs, flushThreshold, batchSize);
+
+        Gauge.builder("blog.article.comment.pending", this, DeltaBuffer::getPendingTotal)
+                .description("尚未落库的评论数增量")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 记录评论数变化；处于事务中时在提交后计入
+     */
+    @Override
+    public void add(Long articleId, long delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    CommentCountBuffer.super.add(articleId, delta);
+                }
+            });
+        } else {
+            super.add(articleId, delta);
+        }
+    }
+
+    @Override
+    protected void persist(Map<Long, Long> batch) {
+        articleMapper.batchAdjustCommentCount(batch);
+    }
+}
@@ -0,0 +1,167 @@
+package com.blog.counter;
+
+import com.blog.cache.ArticleDetailCache;
+import com.blog.dto.ArticleCommentStat;
+import com.blog.entity.Article;
+import com.blog.mapper.ArticleMapper;
+import com.blog.mapper.CommentMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文章评论数校正任务
+ * <p>
+ * 评论数由 {@link CommentCountBuffer} 按增量维护，进程崩溃丢失缓冲、手工改库等都会让它与评论表不一致。
+ * 该任务定期按文章ID分批（键集分页）扫描，每批用一次聚合查询统计实际评论数，只对有偏差的文章执行一条带旧值条件的批量 UPDATE。
+ * 每条语句都很短且自动提交，不会长时间持有文章表或评论表的锁。
+ * 最近一段时间内有评论变化、或本实例仍有未落库增量的文章本轮跳过，避免与其他实例尚未落库的增量重复计算。
+ *
+ * @author blog
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentCountReconciler {
+
+    private final ArticleMapper articleMapper;
+    private final CommentMapper commentMapper;
+    private final CommentCountBuffer commentCountBuffer;
+    private final ArticleDetailCache articleDetailCache;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${blog.comment-counter.reconcile.enabled:true}")
+    private boolean enabled;
+
+    @Value("${blog.comment-counter.reconcile.initial-delay-minutes:10}")
+    private long initialDelayMinutes;
+
+    @Value("${blog.comment-counter.reconcile.interval-minutes:360}")
+    private long intervalMinutes;
+
+    @Value("${blog.comment-counter.reconcile.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * 评论在该时间内有变化的文章本轮不校正，应远大于落库间隔
+     */
+    @Value("${blog.comment-counter.reconcile.quiet-seconds:300}")
+    private long quietSeconds;
+
+    /**
+     * 批次之间的停顿，降低对数据库的持续压力
+     */
+    @Value("${blog.comment-counter.reconcile.pause-ms:50}")
+    private long pauseMs;
+
+    private ScheduledExecutorService worker;
+
+    private Counter corrected;
+
+    @PostConstruct
+    public void init() {
+        corrected = Counter.builder("blog.article.comment.reconciled")
+                .description("校正的文章评论数条数")
+                .register(meterRegistry);
+        if (!enabled) {
+            return;
+        }
+        worker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "comment-count-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker.scheduleWithFixedDelay(this::reconcileQuietly, initialDelayMinutes, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 扫描全部文章并校正评论数
+     *
+     * @return 实际校正的文章数
+     */
+    public int reconcile() throws InterruptedException {
+        long startTime = System.currentTimeMillis();
+        long afterId = 0;
+        int scanned = 0;
+        int updated = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Article> chunk = articleMapper.selectCommentCountPage(afterId, chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            afterId = chunk.get(chunk.size() - 1).getId();
+            scanned += chunk.size();
+            updated += reconcileChunk(chunk);
+            if (pauseMs > 0) {
+                Thread.sleep(pauseMs);
+            }
+        }
+        log.info("文章评论数校正完成，扫描{}篇，校正{}篇，耗时{}ms", scanned, updated, System.currentTimeMillis() - startTime);
+        return updated;
+    }
+
+    private int reconcileChunk(List<Article> chunk) {
+        Map<Long, ArticleCommentStat> stats = new HashMap<>();
+        List<Long> ids = chunk.stream().map(Article::getId).toList();
+        for (ArticleCommentStat stat : commentMapper.selectCommentStats(ids, quietSeconds)) {
+            stats.put(stat.getArticleId(), stat);
+        }
+
+        Map<Long, Long> counts = new LinkedHashMap<>();
+        Map<Long, Long> expected = new LinkedHashMap<>();
+        for (Article article : chunk) {
+            ArticleCommentStat stat = stats.get(article.getId());
+            if (stat != null && Boolean.TRUE.equals(stat.getRecentlyChanged())) {
+                continue;
+            }
+            if (commentCountBuffer.getPending(article.getId()) != 0) {
+                continue;
+            }
+            long actual = stat == null || stat.getCommentCount() == null ? 0L : stat.getCommentCount();
+            long current = article.getCommentCount() == null ? 0L : article.getCommentCount();
+            if (actual != current) {
+                counts.put(article.getId(), actual);
+                expected.put(article.getId(), current);
+            }
+        }
+        if (counts.isEmpty()) {
+            return 0;
+        }
+
+        int updated = articleMapper.batchSetCommentCount(counts, expected);
+        counts.keySet().forEach(articleDetailCache::evict);
+        corrected.increment(updated);
+        log.info("校正{}篇文章的评论数：{}", updated, counts.keySet());
+        return updated;
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("校正文章评论数失败", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (worker != null) {
+            worker.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.blog.counter;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 按文章累加计数增量的写缓冲
+ * <p>
+ * 增量只在内存中累加（每篇文章一个 LongAdder），由后台线程按时间间隔或累计变更量
+ * 合并成批量 UPDATE 落库，避免每次变更都在请求线程上锁定文章行。
+ * 子类负责读取配置、调用 {@link #start} 并实现 {@link #persist}。
+ *
+ * @author blog
+ */
+@Slf4j
+public abstract class DeltaBuffer {
+
+    /**
+     * 计数名称，用于日志
+     */
+    private final String label;
+
+    private final String threadName;
+
+    /**
+     * 每篇文章的待落库增量；条目常驻（仅在文章删除时移除），落库时 sumThenReset 清零，不会丢失并发增量
+     */
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 全部文章的待落库增量之和
+     */
+    private final LongAdder pendingTotal = new LongAdder();
+
+    /**
+     * 自上次落库以来的变更量（增量绝对值之和），用于提前触发落库
+     */
+    private final LongAdder changesSinceFlush = new LongAdder();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+
+    /**
+     * 每批增量落库成功后的回调
+     */
+    private final List<Consumer<Map<Long, Long>>> flushListeners = new CopyOnWriteArrayList<>();
+
+    private long flushThreshold;
+
+    private int batchSize;
+
+    private ScheduledExecutorService flusher;
+
+    protected DeltaBuffer(String label, String threadName) {
+        this.label = label;
+        this.threadName = threadName;
+    }
+
+    /**
+     * 启动后台落库线程
+     */
+    protected void start(long flushIntervalMs, long flushThreshold, int batchSize) {
+        this.flushThreshold = flushThreshold;
+        this.batchSize = batchSize;
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 将一批增量写入数据库，失败时抛出异常
+     */
+    protected abstract void persist(Map<Long, Long> batch);
+
+    /**
+     * 记录增量
+     */
+    public void add(Long articleId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        pending.computeIfAbsent(articleId, id -> new LongAdder()).add(delta);
+        pendingTotal.add(delta);
+        changesSinceFlush.add(Math.abs(delta));
+
+        if (changesSinceFlush.sum() >= flushThreshold && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * 注册落库回调，参数为本批已写入数据库的增量（key为文章ID）
+     */
+    public void addFlushListener(Consumer<Map<Long, Long>> listener) {
+        flushListeners.add(listener);
+    }
+
+    /**
+     * 获取某篇文章尚未落库的增量
+     */
+    public long getPending(Long articleId) {
+        LongAdder adder = pending.get(articleId);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    /**
+     * 获取全部尚未落库的增量
+     */
+    public long getPendingTotal() {
+        return pendingTotal.sum();
+    }
+
+    /**
+     * 丢弃某篇文章的缓冲（文章删除时调用）
+     */
+    public void discard(Long articleId) {
+        LongAdder adder = pending.remove(articleId);
+        if (adder != null) {
+            pendingTotal.add(-adder.sumThenReset());
+        }
+    }
+
+    /**
+     * 将缓冲的增量批量写入数据库，只在 flusher 线程或关闭时调用
+     */
+    void flush() {
+        flushRequested.set(false);
+        changesSinceFlush.reset();
+
+        Map<Long, Long> batch = new LinkedHashMap<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta == 0) {
+                continue;
+            }
+            batch.put(entry.getKey(), delta);
+            if (batch.size() >= batchSize) {
+                writeBatch(batch);
+                batch = new LinkedHashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    private void writeBatch(Map<Long, Long> batch) {
+        long sum = batch.values().stream().mapToLong(Long::longValue).sum();
+        try {
+            persist(batch);
+            pendingTotal.add(-sum);
+        } catch (Exception e) {
+            // 写库失败时把增量放回缓冲，等待下一轮重试
+            batch.forEach((id, delta) -> pending.computeIfAbsent(id, k -> new LongAdder()).add(delta));
+            log.error("批量更新文章{}失败，{}篇文章的增量将在下次重试", label, batch.size(), e);
+            return;
+        }
+        for (Consumer<Map<Long, Long>> listener : flushListeners) {
+            try {
+                listener.accept(batch);
+            } catch (Exception e) {
+                log.warn("{}落库回调执行失败", label, e);
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("刷新文章{}缓冲失败", label, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        if (!flusher.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("{}刷新线程未能按时结束", label);
+        }
+        flush();
+        log.info("{}缓冲已刷新，剩余未落库增量：{}", label, pendingTotal.sum());
+    }
+}
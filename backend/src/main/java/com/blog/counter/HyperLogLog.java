@@ -0,0 +1,119 @@
+package com.blog.counter;
+
+import java.util.Arrays;
+
+/**
+ * HyperLogLog基数估计
+ * <p>
+ * 2^precision 个寄存器，每个寄存器一个字节，内存固定；同精度的实例可以按寄存器取最大值合并，
+ * 因此多个节点各自统计的结果可以通过 {@link #toBytes()} / {@link #fromBytes(byte[])} 交换后合并。
+ * 非线程安全，由调用方加锁。
+ *
+ * @author blog
+ */
+public class HyperLogLog {
+
+    private final int precision;
+
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("precision必须在4-16之间");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    private HyperLogLog(int precision, byte[] registers) {
+        this.precision = precision;
+        this.registers = registers;
+    }
+
+    /**
+     * 加入一个64位哈希值
+     *
+     * @return 是否有寄存器被更新；false 表示该值（大概率）已经出现过
+     */
+    public boolean offer(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // 低位补1保证前导零计数有上界
+        long remaining = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 估计不同元素个数
+     */
+    public long cardinality() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        // 小基数时使用线性计数修正
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * 合并另一个同精度的实例
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("只能合并相同精度的HyperLogLog");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * 序列化：首字节为精度，其后为寄存器
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[registers.length + 1];
+        bytes[0] = (byte) precision;
+        System.arraycopy(registers, 0, bytes, 1, registers.length);
+        return bytes;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        int precision = bytes[0];
+        if (bytes.length != (1 << precision) + 1) {
+            throw new IllegalArgumentException("HyperLogLog数据长度不正确");
+        }
+        return new HyperLogLog(precision, Arrays.copyOfRange(bytes, 1, bytes.length));
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+}
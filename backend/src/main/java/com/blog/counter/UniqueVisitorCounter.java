@@ -0,0 +1,124 @@
+package com.blog.counter;
+
+import com.blog.utils.Hashing;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 文章独立访客计数
+ * <p>
+ * 每篇文章在每个时间窗口内维护一个 {@link HyperLogLog}。访客第一次出现时草图会发生变化，
+ * 此时按估计值与已上报值的差额写入阅读量缓冲；重复刷新不会改变草图，也就不会产生写入。
+ *
+ * @author blog
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UniqueVisitorCounter {
+
+    private final ViewCountBuffer viewCountBuffer;
+
+    @Value("${blog.unique-visitor.enabled:true}")
+    private boolean enabled;
+
+    @Value("${blog.unique-visitor.window-minutes:1440}")
+    private long windowMinutes;
+
+    @Value("${blog.unique-visitor.precision:10}")
+    private int precision;
+
+    private final Map<Long, WindowSketch> sketches = new ConcurrentHashMap<>();
+
+    private final AtomicLong currentWindow = new AtomicLong();
+
+    /**
+     * 记录一次访问
+     *
+     * @param articleId  文章ID
+     * @param visitorKey 访客标识（用户ID或IP），为空时按普通阅读计数
+     * @return 本次计入的阅读量，重复访问时为0
+     */
+    public long recordVisit(Long articleId, String visitorKey) {
+        if (!enabled || visitorKey == null) {
+            viewCountBuffer.increment(articleId);
+            return 1L;
+        }
+
+        long window = currentWindowStart();
+        long hash = Hashing.hash64(visitorKey);
+
+        WindowSketch sketch = sketches.compute(articleId, (id, existing) ->
+                existing == null || existing.windowStart != window ? new WindowSketch(window, precision) : existing);
+
+        long delta;
+        synchronized (sketch) {
+            if (!sketch.hll.offer(hash)) {
+                return 0L;
+            }
+            long estimate = sketch.hll.cardinality();
+            delta = estimate - sketch.reported;
+            if (delta <= 0) {
+                return 0L;
+            }
+            sketch.reported = estimate;
+        }
+        viewCountBuffer.add(articleId, delta);
+        return delta;
+    }
+
+    /**
+     * 获取文章在当前窗口内的独立访客估计值
+     */
+    public long getUniqueVisitors(Long articleId) {
+        WindowSketch sketch = sketches.get(articleId);
+        if (sketch == null || sketch.windowStart != currentWindowStart()) {
+            return 0L;
+        }
+        synchronized (sketch) {
+            return sketch.hll.cardinality();
+        }
+    }
+
+    /**
+     * 丢弃文章的草图（文章删除时调用）
+     */
+    public void discard(Long articleId) {
+        sketches.remove(articleId);
+    }
+
+    private long currentWindowStart() {
+        long windowMillis = windowMinutes * 60_000L;
+        long window = System.currentTimeMillis() / windowMillis * windowMillis;
+        long previous = currentWindow.get();
+        if (window != previous && currentWindow.compareAndSet(previous, window)) {
+            // 进入新窗口，释放上一窗口的草图
+            sketches.values().removeIf(sketch -> sketch.windowStart < window);
+            log.debug("独立访客统计进入新窗口，剩余草图：{}", sketches.size());
+        }
+        return window;
+    }
+
+    private static class WindowSketch {
+
+        private final long windowStart;
+
+        private final HyperLogLog hll;
+
+        /**
+         * 已写入阅读量的访客数
+         */
+        private long reported;
+
+        WindowSketch(long windowStart, int precision) {
+            this.windowStart = windowStart;
+            this.hll = new HyperLogLog(precision);
+        }
+    }
+}
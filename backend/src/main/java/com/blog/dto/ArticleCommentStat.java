@@ -0,0 +1,24 @@
+package com.blog.dto;
+
+import lombok.Data;
+
+/**
+ * 按文章汇总的评论统计，用于校正文章评论数
+ * 
+ * @author blog
+ */
+@Data
+public class ArticleCommentStat {
+
+    private Long articleId;
+
+    /**
+     * 已审核且未删除的评论数
+     */
+    private Long commentCount;
+
+    /**
+     * 最近一段时间内是否有评论变化（新增、删除、审核）
+     */
+    private Boolean recentlyChanged;
+}
@@ -0,0 +1,34 @@
+package com.blog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章正文DTO，只包含随文章修订变化的大字段，不含阅读量、点赞数等计数
+ * 
+ * @author blog
+ */
+@Data
+@Schema(description = "文章正文")
+public class ArticleContentDto {
+
+    @Schema(description = "文章ID")
+    private Long id;
+
+    @Schema(description = "文章内容（Markdown格式）")
+    private String content;
+
+    @Schema(description = "渲染后的HTML（已清洗）")
+    private String contentHtml;
+
+    @Schema(description = "目录HTML")
+    private String tocHtml;
+
+    @Schema(description = "预计阅读时长（分钟）")
+    private Integer readingTime;
+
+    @Schema(description = "更新时间")
+    private LocalDateTime updateTime;
+}
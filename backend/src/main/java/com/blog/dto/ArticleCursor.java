@@ -0,0 +1,67 @@
+package com.blog.dto;
+
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 文章列表游标
+ * <p>
+ * 记录上一页最后一行的排序键 (is_top, publish_time, create_time, id)，对外编码为不透明字符串。
+ * 
+ * @author blog
+ */
+@Data
+public class ArticleCursor {
+
+    private Integer isTop;
+
+    private LocalDateTime publishTime;
+
+    private LocalDateTime createTime;
+
+    private Long id;
+
+    /**
+     * 根据一页中最后一篇文章生成游标
+     */
+    public static ArticleCursor of(ArticleSummaryDto article) {
+        ArticleCursor cursor = new ArticleCursor();
+        cursor.setIsTop(article.getIsTop() == null ? 0 : article.getIsTop());
+        cursor.setPublishTime(article.getPublishTime());
+        cursor.setCreateTime(article.getCreateTime());
+        cursor.setId(article.getId());
+        return cursor;
+    }
+
+    /**
+     * 编码为URL安全的字符串
+     */
+    public String encode() {
+        String raw = isTop + "|" + (publishTime == null ? "" : publishTime) + "|" + createTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标，空字符串表示从第一页开始
+     */
+    public static ArticleCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            ArticleCursor cursor = new ArticleCursor();
+            cursor.setIsTop(Integer.valueOf(parts[0]));
+            cursor.setPublishTime(parts[1].isEmpty() ? null : LocalDateTime.parse(parts[1]));
+            cursor.setCreateTime(LocalDateTime.parse(parts[2]));
+            cursor.setId(Long.valueOf(parts[3]));
+            return cursor;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("游标无效");
+        }
+    }
+}
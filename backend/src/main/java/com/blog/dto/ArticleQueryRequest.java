@@ -0,0 +1,26 @@
+package com.blog.dto;
+
+import com.blog.common.PageRequest;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * 文章查询请求DTO
+ * 
+ * @author blog
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Schema(description = "文章查询请求")
+public class ArticleQueryRequest extends PageRequest {
+
+    @Schema(description = "分类ID")
+    private Long categoryId;
+
+    @Schema(description = "状态：DRAFT-草稿，PUBLISHED-已发布，ARCHIVED-已归档")
+    private String status;
+
+    @Schema(description = "关键词")
+    private String keyword;
+}
@@ -0,0 +1,49 @@
+package com.blog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * 创建/更新文章请求DTO
+ * 
+ * @author blog
+ */
+@Data
+@Schema(description = "文章请求")
+public class ArticleRequest {
+
+    @NotBlank(message = "文章标题不能为空")
+    @Size(max = 200, message = "文章标题长度不能超过200个字符")
+    @Schema(description = "文章标题", example = "Spring Boot 入门")
+    private String title;
+
+    @NotBlank(message = "文章内容不能为空")
+    @Schema(description = "文章内容（Markdown格式）")
+    private String content;
+
+    @Schema(description = "文章摘要")
+    private String summary;
+
+    @Schema(description = "封面图片URL")
+    private String coverImage;
+
+    @Schema(description = "分类ID")
+    private Long categoryId;
+
+    @Schema(description = "状态：DRAFT-草稿，PUBLISHED-已发布", example = "DRAFT")
+    private String status;
+
+    @Schema(description = "是否置顶：0-否，1-是")
+    private Integer isTop;
+
+    @Schema(description = "是否推荐：0-否，1-是")
+    private Integer isRecommend;
+
+    @Size(max = 20, message = "标签不能超过20个")
+    @Schema(description = "标签ID列表；更新时为空表示不修改标签，空列表表示清空标签")
+    private List<Long> tagIds;
+}
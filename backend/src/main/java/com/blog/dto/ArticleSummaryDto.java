@@ -0,0 +1,78 @@
+package com.blog.dto;
+
+import com.blog.entity.Tag;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 文章摘要DTO，用于列表类接口，不包含正文
+ * 
+ * @author blog
+ */
+@Data
+@Schema(description = "文章摘要")
+public class ArticleSummaryDto implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "文章ID")
+    private Long id;
+
+    @Schema(description = "文章标题")
+    private String title;
+
+    @Schema(description = "文章摘要")
+    private String summary;
+
+    @Schema(description = "封面图片URL")
+    private String coverImage;
+
+    @Schema(description = "分类ID")
+    private Long categoryId;
+
+    @Schema(description = "分类名称")
+    private String categoryName;
+
+    @Schema(description = "作者ID")
+    private Long authorId;
+
+    @Schema(description = "作者昵称")
+    private String authorName;
+
+    @Schema(description = "状态：DRAFT-草稿，PUBLISHED-已发布，ARCHIVED-已归档")
+    private String status;
+
+    @Schema(description = "阅读量")
+    private Long viewCount;
+
+    @Schema(description = "点赞数")
+    private Long likeCount;
+
+    @Schema(description = "评论数")
+    private Long commentCount;
+
+    @Schema(description = "预计阅读时长（分钟）")
+    private Integer readingTime;
+
+    @Schema(description = "是否置顶：0-否，1-是")
+    private Integer isTop;
+
+    @Schema(description = "是否推荐：0-否，1-是")
+    private Integer isRecommend;
+
+    @Schema(description = "发布时间")
+    private LocalDateTime publishTime;
+
+    @Schema(description = "创建时间")
+    private LocalDateTime createTime;
+
+    @Schema(description = "更新时间")
+    private LocalDateTime updateTime;
+
+    @Schema(description = "标签列表")
+    private List<Tag> tags;
+}
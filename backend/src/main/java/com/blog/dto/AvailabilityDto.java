@@ -0,0 +1,20 @@
+package com.blog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+/**
+ * 用户名/邮箱可用性DTO
+ * 
+ * @author blog
+ */
+@Data
+@Schema(description = "用户名/邮箱可用性")
+public class AvailabilityDto {
+
+    @Schema(description = "用户名是否可用，未查询时为空")
+    private Boolean usernameAvailable;
+
+    @Schema(description = "邮箱是否可用，未查询时为空")
+    private Boolean emailAvailable;
+}
@@ -0,0 +1,57 @@
+package com.blog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 评论DTO，根评论携带其回复组成的树
+ * 
+ * @author blog
+ */
+@Data
+@Schema(description = "评论")
+public class CommentDto {
+
+    @Schema(description = "评论ID")
+    private Long id;
+
+    @Schema(description = "文章ID")
+    private Long articleId;
+
+    @Schema(description = "评论用户ID")
+    private Long userId;
+
+    @Schema(description = "评论用户昵称")
+    private String nickname;
+
+    @Schema(description = "评论用户头像")
+    private String avatar;
+
+    @Schema(description = "父评论ID，根评论为空")
+    private Long parentId;
+
+    @Schema(description = "所属根评论ID，根评论为空")
+    private Long rootId;
+
+    @Schema(description = "被回复用户ID")
+    private Long replyToUserId;
+
+    @Schema(description = "被回复用户昵称")
+    private String replyToNickname;
+
+    @Schema(description = "评论内容")
+    private String content;
+
+    @Schema(description = "创建时间")
+    private LocalDateTime createTime;
+
+    @Schema(description = "回复总数（仅根评论）")
+    private Integer replyCount;
+
+    @Schema(description = "回复列表（根评论下为已加载的回复树）")
+    private List<CommentDto> children = new ArrayList<>();
+}
@@ -0,0 +1,30 @@
+package com.blog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * 发表评论请求DTO
+ * 
+ * @author blog
+ */
+@Data
+@Schema(description = "发表评论请求")
+public class CommentRequest {
+
+    @NotNull(message = "文章ID不能为空")
+    @Schema(description = "文章ID", example = "1")
+    private Long articleId;
+
+    @Schema(description = "回复的评论ID，发表根评论时为空")
+    private Long parentId;
+
+    @NotBlank(message = "评论内容不能为空")
+    @Size(max = 1000, message = "评论内容不能超过1000个字符")
+    @Schema(description = "评论内容", example = "写得很好！")
+    private String content;
+}
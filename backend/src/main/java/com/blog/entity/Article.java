@@ -5,6 +5,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 文章实体
@@ -26,6 +27,21 @@ public class Article {
     @Schema(description = "文章内容（Markdown格式）")
     private String content;
 
+    @Schema(description = "渲染后的HTML（已清洗），由正文生成")
+    private String contentHtml;
+
+    @Schema(description = "目录HTML")
+    private String tocHtml;
+
+    @Schema(description = "预计阅读时长（分钟）")
+    private Integer readingTime;
+
+    @Schema(description = "渲染时正文的SHA-256，正文未变化时不重新渲染")
+    private String contentHash;
+
+    @Schema(description = "渲染规则版本")
+    private Integer renderVersion;
+
     @Schema(description = "文章摘要")
     private String summary;
 
@@ -66,4 +82,16 @@ public class Article {
     @TableField(fill = FieldFill.INSERT_UPDATE)
     @Schema(description = "更新时间")
     private LocalDateTime updateTime;
+
+    @TableField(exist = false)
+    @Schema(description = "当前用户是否已点赞，未登录时为空")
+    private Boolean likedByMe;
+
+    @TableField(exist = false)
+    @Schema(description = "标签ID列表")
+    private List<Long> tagIds;
+
+    @TableField(exist = false)
+    @Schema(description = "标签列表")
+    private List<Tag> tags;
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.blog.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章点赞实体
+ * 
+ * @author blog
+ */
+@Data
+@TableName("article_likes")
+@Schema(description = "文章点赞实体")
+public class ArticleLike {
+
+    @TableId(type = IdType.AUTO)
+    @Schema(description = "点赞ID")
+    private Long id;
+
+    @Schema(description = "文章ID")
+    private Long articleId;
+
+    @Schema(description = "用户ID")
+    private Long userId;
+
+    @TableField(fill = FieldFill.INSERT)
+    @Schema(description = "创建时间")
+    private LocalDateTime createTime;
+}
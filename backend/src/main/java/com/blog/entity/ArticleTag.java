@@ -0,0 +1,41 @@
+package com.blog.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章标签关联实体
+ * 
+ * @author blog
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("article_tags")
+@Schema(description = "文章标签关联实体")
+public class ArticleTag {
+
+    @TableId(type = IdType.AUTO)
+    @Schema(description = "关联ID")
+    private Long id;
+
+    @Schema(description = "文章ID")
+    private Long articleId;
+
+    @Schema(description = "标签ID")
+    private Long tagId;
+
+    @TableField(fill = FieldFill.INSERT)
+    @Schema(description = "创建时间")
+    private LocalDateTime createTime;
+
+    public ArticleTag(Long articleId, Long tagId) {
+        this.articleId = articleId;
+        this.tagId = tagId;
+    }
+}
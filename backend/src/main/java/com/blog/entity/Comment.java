@@ -0,0 +1,51 @@
+package com.blog.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 评论实体
+ * 
+ * @author blog
+ */
+@Data
+@TableName("comments")
+@Schema(description = "评论实体")
+public class Comment {
+
+    @TableId(type = IdType.AUTO)
+    @Schema(description = "评论ID")
+    private Long id;
+
+    @Schema(description = "文章ID")
+    private Long articleId;
+
+    @Schema(description = "用户ID")
+    private Long userId;
+
+    @Schema(description = "父评论ID，根评论为空")
+    private Long parentId;
+
+    @Schema(description = "所属根评论ID，根评论为空")
+    private Long rootId;
+
+    @Schema(description = "评论内容")
+    private String content;
+
+    @Schema(description = "状态：PENDING-待审核，APPROVED-已通过，REJECTED-已拒绝")
+    private String status;
+
+    @TableField(fill = FieldFill.INSERT)
+    @Schema(description = "创建时间")
+    private LocalDateTime createTime;
+
+    @TableField(fill = FieldFill.INSERT_UPDATE)
+    @Schema(description = "更新时间")
+    private LocalDateTime updateTime;
+
+    @Schema(description = "逻辑删除标志")
+    private Integer deleted;
+}
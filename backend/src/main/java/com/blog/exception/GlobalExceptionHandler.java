@@ -1,5 +1,6 @@
 package com.blog.exception;
 
+import com.blog.bulkhead.BulkheadFullException;
 import com.blog.common.Result;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -62,6 +63,16 @@ public class GlobalExceptionHandler {
         return Result.badRequest(message);
     }
 
+    /**
+     * 处理舱壁已满异常，下游繁忙时快速失败
+     */
+    @ExceptionHandler(BulkheadFullException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Result<Void> handleBulkheadFullException(BulkheadFullException e) {
+        log.warn("请求被舱壁拒绝：{}", e.getMessage());
+        return Result.error(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage());
+    }
+
     /**
      * 处理运行时异常
      */
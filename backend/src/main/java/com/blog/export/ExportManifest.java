@@ -0,0 +1,33 @@
+package com.blog.export;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 静态站点导出清单，保存在导出目录下，用于增量导出
+ *
+ * @author blog
+ */
+@Data
+public class ExportManifest {
+
+    /**
+     * 导出时的 Markdown 渲染规则版本，不一致时全量导出
+     */
+    private int renderVersion;
+
+    private LocalDateTime exportTime;
+
+    /**
+     * 已导出的文章ID到导出时的更新时间（毫秒时间戳）
+     */
+    private Map<Long, Long> articles = new HashMap<>();
+
+    /**
+     * 已导出的列表页（相对路径，不含扩展名）到内容指纹
+     */
+    private Map<String, String> pages = new HashMap<>();
+}
@@ -0,0 +1,86 @@
+package com.blog.export;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 静态站点导出进度
+ * <p>
+ * 导出线程和渲染线程更新计数，其他请求可随时读取；错误明细最多保留 {@link #MAX_ERRORS} 条。
+ *
+ * @author blog
+ */
+@Getter
+public class ExportProgress {
+
+    public static final int MAX_ERRORS = 100;
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private volatile Status status = Status.RUNNING;
+
+    /**
+     * 是否为全量导出（忽略上次导出清单）
+     */
+    private final boolean full;
+
+    /**
+     * 已扫描的已发布文章数
+     */
+    private final AtomicInteger scanned = new AtomicInteger();
+
+    /**
+     * 重新生成的文章页数
+     */
+    private final AtomicInteger articlesWritten = new AtomicInteger();
+
+    /**
+     * 重新生成的列表页数（首页列表与分类列表）
+     */
+    private final AtomicInteger pagesWritten = new AtomicInteger();
+
+    /**
+     * 删除的过期文件数（已下线的文章、多余的列表页）
+     */
+    private final AtomicInteger removed = new AtomicInteger();
+
+    /**
+     * 生成失败的文章页和列表页数，下次导出时重试
+     */
+    private final AtomicInteger failed = new AtomicInteger();
+
+    private final List<String> errors = new ArrayList<>();
+
+    private final LocalDateTime startTime = LocalDateTime.now();
+
+    private volatile LocalDateTime finishTime;
+
+    ExportProgress(boolean full) {
+        this.full = full;
+    }
+
+    public List<String> getErrors() {
+        synchronized (errors) {
+            return new ArrayList<>(errors);
+        }
+    }
+
+    void addError(String error) {
+        synchronized (errors) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(error);
+            }
+        }
+    }
+
+    void finish(Status status) {
+        this.status = status;
+        this.finishTime = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,115 @@
+package com.blog.export;
+
+import com.blog.dto.ArticleSummaryDto;
+import com.blog.entity.Article;
+import com.blog.entity.Tag;
+import org.springframework.web.util.HtmlUtils;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * 静态站点的 HTML 模板
+ * <p>
+ * 只输出语义化的最简页面，样式由 CDN 上的公共样式表提供。正文和目录是渲染时已清洗过的 HTML，直接写出；其余文本全部转义。
+ *
+ * @author blog
+ */
+final class StaticHtml {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private StaticHtml() {
+    }
+
+    /**
+     * 文章页
+     *
+     * @param prefix 页面到导出根目录的相对路径前缀，如 "../"
+     */
+    static String article(ArticleSummaryDto meta, Article article, List<Tag> tags, String prefix) {
+        StringBuilder html = head(meta.getTitle(), meta.getSummary(), prefix);
+        html.append("<article>\n<h1>").append(escape(meta.getTitle())).append("</h1>\n<p class=\"meta\">");
+        appendDate(html, meta.getPublishTime());
+        if (meta.getCategoryId() != null) {
+            html.append(" · <a href=\"").append(prefix).append(categoryHref(meta.getCategoryId())).append("\">")
+                    .append(escape(meta.getCategoryName())).append("</a>");
+        }
+        if (meta.getAuthorName() != null) {
+            html.append(" · ").append(escape(meta.getAuthorName()));
+        }
+        html.append("</p>\n");
+        if (!tags.isEmpty()) {
+            html.append("<ul class=\"tags\">");
+            for (Tag tag : tags) {
+                html.append("<li>").append(escape(tag.getName())).append("</li>");
+            }
+            html.append("</ul>\n");
+        }
+        if (article.getTocHtml() != null && !article.getTocHtml().isEmpty()) {
+            html.append("<nav class=\"toc\">").append(article.getTocHtml()).append("</nav>\n");
+        }
+        html.append("<div class=\"content\">").append(article.getContentHtml() == null ? "" : article.getContentHtml())
+                .append("</div>\n</article>\n");
+        return tail(html);
+    }
+
+    /**
+     * 列表页（首页列表或分类列表）
+     */
+    static String list(String title, List<ArticleSummaryDto> rows, int page, boolean hasNext, String prefix) {
+        StringBuilder html = head(title, null, prefix);
+        html.append("<h1>").append(escape(title)).append("</h1>\n<ul class=\"articles\">\n");
+        for (ArticleSummaryDto row : rows) {
+            html.append("<li><a href=\"").append(prefix).append("articles/").append(row.getId()).append(".html\">")
+                    .append(escape(row.getTitle())).append("</a> <time>");
+            appendDate(html, row.getPublishTime());
+            html.append("</time>");
+            if (row.getSummary() != null && !row.getSummary().isEmpty()) {
+                html.append("<p>").append(escape(row.getSummary())).append("</p>");
+            }
+            html.append("</li>\n");
+        }
+        html.append("</ul>\n<nav class=\"pager\">");
+        if (page > 1) {
+            html.append("<a rel=\"prev\" href=\"page-").append(page - 1).append(".html\">上一页</a>");
+        }
+        if (hasNext) {
+            html.append("<a rel=\"next\" href=\"page-").append(page + 1).append(".html\">下一页</a>");
+        }
+        html.append("</nav>\n");
+        return tail(html);
+    }
+
+    static String categoryHref(Long categoryId) {
+        return "categories/" + categoryId + "/page-1.html";
+    }
+
+    private static StringBuilder head(String title, String description, String prefix) {
+        StringBuilder html = new StringBuilder(4096);
+        html.append("<!DOCTYPE html>\n<html lang=\"zh-CN\">\n<head>\n<meta charset=\"utf-8\">\n")
+                .append("<meta name=\"viewport\" content=\"width=device-width, initial-scale=1\">\n")
+                .append("<title>").append(escape(title)).append("</title>\n");
+        if (description != null && !description.isEmpty()) {
+            html.append("<meta name=\"description\" content=\"").append(escape(description)).append("\">\n");
+        }
+        html.append("<link rel=\"stylesheet\" href=\"").append(prefix).append("assets/site.css\">\n")
+                .append("</head>\n<body>\n<header><a href=\"").append(prefix).append("list/page-1.html\">首页</a></header>\n<main>\n");
+        return html;
+    }
+
+    private static String tail(StringBuilder html) {
+        return html.append("</main>\n</body>\n</html>\n").toString();
+    }
+
+    private static void appendDate(StringBuilder html, LocalDateTime time) {
+        if (time != null) {
+            html.append(DATE_FORMAT.format(time));
+        }
+    }
+
+    private static String escape(String text) {
+        return text == null ? "" : HtmlUtils.htmlEscape(text);
+    }
+}
@@ -0,0 +1,521 @@
+package com.blog.export;
+
+import com.blog.cache.TaxonomyCache;
+import com.blog.common.Result;
+import com.blog.dto.ArticleContentDto;
+import com.blog.dto.ArticleSummaryDto;
+import com.blog.entity.Article;
+import com.blog.entity.ArticleTag;
+import com.blog.entity.Tag;
+import com.blog.mapper.ArticleMapper;
+import com.blog.mapper.ArticleTagMapper;
+import com.blog.render.MarkdownRenderer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 静态站点导出
+ * <p>
+ * 将已发布文章、首页列表页和分类列表页导出为静态 HTML 和 JSON 文件，作为 CDN 回源站点。
+ * 导出线程用流式游标按列表顺序逐行读取文章摘要（不读正文），一边按页切分列表，一边把需要重新生成的文章攒批；
+ * 文章批次和列表页交给专用的 ForkJoinPool 按 CPU 核数并行渲染、写盘，在途任务数有上限，内存占用与文章总数无关。
+ * <p>
+ * 增量导出依据上次的导出清单：只重新生成更新时间变化的文章，以及内容指纹（文章ID、更新时间、分页位置）变化的列表页；
+ * 已下线的文章和多余的列表页会被删除。每个文件先写临时文件再原子替换，清单在全部文件写完后最后替换，
+ * 中途失败时下次导出会重做未完成的部分。列表页中的阅读量等计数是导出时的值，标签改名不会触发列表页重新生成，需要时可全量导出。
+ *
+ * @author blog
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StaticSiteExporter {
+
+    private static final String MANIFEST_FILE = "manifest.json";
+
+    private static final String ARTICLE_DIR = "articles/";
+
+    private static final String LIST_DIR = "list";
+
+    private static final String CATEGORY_DIR = "categories/";
+
+    private static final String LIST_TITLE = "最新文章";
+
+    private final ArticleMapper articleMapper;
+    private final ArticleTagMapper articleTagMapper;
+    private final TaxonomyCache taxonomyCache;
+    private final ObjectMapper objectMapper;
+
+    @Value("${blog.export.dir:data/static-site}")
+    private String exportDir;
+
+    @Value("${blog.export.page-size:20}")
+    private int pageSize;
+
+    /**
+     * 每批一次查询加载正文的文章数
+     */
+    @Value("${blog.export.batch-size:100}")
+    private int batchSize;
+
+    /**
+     * 渲染并行度，0 表示使用 CPU 核数
+     */
+    @Value("${blog.export.parallelism:0}")
+    private int parallelism;
+
+    /**
+     * 定时增量导出间隔，0 表示只手动触发
+     */
+    @Value("${blog.export.interval-minutes:0}")
+    private long intervalMinutes;
+
+    private ForkJoinPool renderPool;
+
+    private ScheduledExecutorService runner;
+
+    /**
+     * 渲染池中在途任务数上限
+     */
+    private int maxInFlight;
+
+    private volatile ExportProgress current;
+
+    @PostConstruct
+    public void init() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        renderPool = new ForkJoinPool(threads);
+        maxInFlight = threads * 2;
+        runner = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "static-export");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (intervalMinutes > 0) {
+            runner.scheduleWithFixedDelay(() -> start(false), intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * 在后台开始一次导出；已有导出在运行时直接返回其进度
+     *
+     * @param full 是否忽略导出清单全量导出
+     */
+    public synchronized ExportProgress start(boolean full) {
+        ExportProgress running = current;
+        if (running != null && running.getStatus() == ExportProgress.Status.RUNNING) {
+            return running;
+        }
+        ExportProgress progress = new ExportProgress(full);
+        current = progress;
+        runner.execute(() -> run(progress));
+        return progress;
+    }
+
+    /**
+     * 最近一次导出的进度，从未导出时返回 null
+     */
+    public ExportProgress getProgress() {
+        return current;
+    }
+
+    private void run(ExportProgress progress) {
+        long startTime = System.currentTimeMillis();
+        try {
+            Path root = Paths.get(exportDir).toAbsolutePath().normalize();
+            Files.createDirectories(root);
+            ExportManifest previous = readManifest(root);
+            boolean incremental = !progress.isFull() && previous.getRenderVersion() == MarkdownRenderer.RENDER_VERSION;
+
+            new ExportRun(root, previous, incremental, progress).execute();
+            progress.finish(ExportProgress.Status.COMPLETED);
+            log.info("静态站点导出完成（{}），扫描{}篇，生成文章{}篇、列表页{}页，删除{}个，失败{}个，耗时{}ms",
+                    incremental ? "增量" : "全量", progress.getScanned().get(), progress.getArticlesWritten().get(),
+                    progress.getPagesWritten().get(), progress.getRemoved().get(), progress.getFailed().get(),
+                    System.currentTimeMillis() - startTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            progress.finish(ExportProgress.Status.FAILED);
+        } catch (Exception e) {
+            log.error("静态站点导出失败", e);
+            progress.addError(e.getMessage());
+            progress.finish(ExportProgress.Status.FAILED);
+        }
+    }
+
+    private ExportManifest readManifest(Path root) {
+        Path file = root.resolve(MANIFEST_FILE);
+        if (!Files.exists(file)) {
+            return new ExportManifest();
+        }
+        try {
+            return objectMapper.readValue(file.toFile(), ExportManifest.class);
+        } catch (IOException e) {
+            log.warn("读取导出清单失败，将全量导出：{}", file, e);
+            return new ExportManifest();
+        }
+    }
+
+    /**
+     * 一次导出的状态；流式读取在导出线程上进行，渲染和写盘在渲染池中进行
+     */
+    private final class ExportRun {
+
+        private final Path root;
+
+        private final ExportManifest previous;
+
+        private final boolean incremental;
+
+        private final ExportProgress progress;
+
+        /**
+         * 本次写入成功或无需重写的条目，写入新清单；失败的条目不记录，下次重新生成
+         */
+        private final Map<Long, Long> exportedArticles = new ConcurrentHashMap<>();
+
+        private final Map<String, String> exportedPages = new ConcurrentHashMap<>();
+
+        /**
+         * 本次扫描到的文章和列表页，不在其中的旧文件会被删除
+         */
+        private final Set<Long> seenArticles = new HashSet<>();
+
+        private final Set<String> seenPages = new HashSet<>();
+
+        private final Semaphore inFlight = new Semaphore(maxInFlight);
+
+        private final PageBuilder listPages = new PageBuilder(LIST_DIR, LIST_TITLE);
+
+        private final Map<Long, PageBuilder> categoryPages = new HashMap<>();
+
+        private List<ArticleSummaryDto> changed = new ArrayList<>();
+
+        ExportRun(Path root, ExportManifest previous, boolean incremental, ExportProgress progress) {
+            this.root = root;
+            this.previous = previous;
+            this.incremental = incremental;
+            this.progress = progress;
+        }
+
+        void execute() throws InterruptedException, IOException {
+            try {
+                // MySQL 流式结果集逐行回调，不会一次性加载全部文章
+                articleMapper.streamPublishedSummaries(context -> accept(context.getResultObject()));
+            } catch (RuntimeException e) {
+                // 等待渲染池许可时被中断，异常会被 MyBatis 包装
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException("静态站点导出被中断");
+                }
+                throw e;
+            }
+
+            listPages.finish(true);
+            for (PageBuilder pages : categoryPages.values()) {
+                pages.finish(false);
+            }
+            submitChanged();
+            // 取回全部许可即等待所有在途任务完成
+            inFlight.acquire(maxInFlight);
+            inFlight.release(maxInFlight);
+
+            removeStale();
+            writeManifest();
+        }
+
+        private void accept(ArticleSummaryDto summary) {
+            progress.getScanned().incrementAndGet();
+            seenArticles.add(summary.getId());
+
+            long version = toEpochMillis(summary.getUpdateTime());
+            if (incremental && Objects.equals(previous.getArticles().get(summary.getId()), version)) {
+                exportedArticles.put(summary.getId(), version);
+            } else {
+                changed.add(summary);
+                if (changed.size() >= batchSize) {
+                    submitChanged();
+                }
+            }
+
+            listPages.add(summary);
+            if (summary.getCategoryId() != null) {
+                categoryPages.computeIfAbsent(summary.getCategoryId(), id -> new PageBuilder(CATEGORY_DIR + id,
+                        summary.getCategoryName() == null ? "分类" : summary.getCategoryName())).add(summary);
+            }
+        }
+
+        private void submitChanged() {
+            if (changed.isEmpty()) {
+                return;
+            }
+            List<ArticleSummaryDto> batch = changed;
+            changed = new ArrayList<>();
+            submit(() -> writeArticles(batch));
+        }
+
+        private void submit(Runnable task) {
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("静态站点导出被中断", e);
+            }
+            renderPool.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+
+        private void writeArticles(List<ArticleSummaryDto> batch) {
+            Map<Long, Article> articles;
+            Map<Long, List<Long>> tagIds;
+            try {
+                List<Long> ids = batch.stream().map(ArticleSummaryDto::getId).toList();
+                articles = articleMapper.selectBatchIds(ids).stream()
+                        .collect(Collectors.toMap(Article::getId, article -> article));
+                tagIds = selectTagIds(ids);
+            } catch (Exception e) {
+                batch.forEach(summary -> fail("文章" + summary.getId(), e));
+                return;
+            }
+
+            TaxonomyCache.Snapshot taxonomy = taxonomyCache.current();
+            for (ArticleSummaryDto summary : batch) {
+                Article article = articles.get(summary.getId());
+                if (article == null) {
+                    // 导出期间被删除，下次导出时清理
+                    continue;
+                }
+                try {
+                    ArticleContentDto content = new ArticleContentDto();
+                    BeanUtils.copyProperties(article, content);
+                    String path = ARTICLE_DIR + summary.getId();
+                    write(path + ".json", objectMapper.writeValueAsBytes(Result.success(content)));
+                    write(path + ".html", StaticHtml.article(summary, article,
+                            resolveTags(taxonomy, tagIds.get(summary.getId())), "../").getBytes(StandardCharsets.UTF_8));
+                    exportedArticles.put(summary.getId(), toEpochMillis(summary.getUpdateTime()));
+                    progress.getArticlesWritten().incrementAndGet();
+                } catch (Exception e) {
+                    fail("文章" + summary.getId(), e);
+                }
+            }
+        }
+
+        private void writePage(String key, String title, int page, List<ArticleSummaryDto> rows, boolean hasNext,
+                               String fingerprint) {
+            try {
+                Map<Long, List<Long>> tagIds = selectTagIds(rows.stream().map(ArticleSummaryDto::getId).toList());
+                TaxonomyCache.Snapshot taxonomy = taxonomyCache.current();
+                // 摘要对象与其他列表页和文章批次共享，复制后再填充标签
+                List<ArticleSummaryDto> records = new ArrayList<>(rows.size());
+                for (ArticleSummaryDto row : rows) {
+                    ArticleSummaryDto record = new ArticleSummaryDto();
+                    BeanUtils.copyProperties(row, record);
+                    record.setTags(resolveTags(taxonomy, tagIds.get(row.getId())));
+                    records.add(record);
+                }
+
+                Map<String, Object> body = new LinkedHashMap<>();
+                body.put("title", title);
+                body.put("page", page);
+                body.put("hasNext", hasNext);
+                body.put("records", records);
+                write(key + ".json", objectMapper.writeValueAsBytes(Result.success(body)));
+                String prefix = "../".repeat((int) key.chars().filter(c -> c == '/').count());
+                write(key + ".html", StaticHtml.list(title, records, page, hasNext, prefix).getBytes(StandardCharsets.UTF_8));
+                exportedPages.put(key, fingerprint);
+                progress.getPagesWritten().incrementAndGet();
+            } catch (Exception e) {
+                fail("列表页" + key, e);
+            }
+        }
+
+        private Map<Long, List<Long>> selectTagIds(List<Long> articleIds) {
+            if (articleIds.isEmpty()) {
+                return Map.of();
+            }
+            return articleTagMapper.selectByArticleIds(articleIds).stream()
+                    .collect(Collectors.groupingBy(ArticleTag::getArticleId,
+                            Collectors.mapping(ArticleTag::getTagId, Collectors.toList())));
+        }
+
+        private void removeStale() {
+            for (Long id : previous.getArticles().keySet()) {
+                if (!seenArticles.contains(id)) {
+                    delete(ARTICLE_DIR + id);
+                }
+            }
+            for (String key : previous.getPages().keySet()) {
+                if (!seenPages.contains(key)) {
+                    delete(key);
+                }
+            }
+        }
+
+        private void delete(String path) {
+            try {
+                boolean removed = Files.deleteIfExists(resolve(path + ".json"));
+                removed |= Files.deleteIfExists(resolve(path + ".html"));
+                if (removed) {
+                    progress.getRemoved().incrementAndGet();
+                }
+            } catch (IOException e) {
+                log.warn("删除过期的静态文件失败：{}", path, e);
+            }
+        }
+
+        private void writeManifest() throws IOException {
+            ExportManifest manifest = new ExportManifest();
+            manifest.setRenderVersion(MarkdownRenderer.RENDER_VERSION);
+            manifest.setExportTime(LocalDateTime.now());
+            manifest.setArticles(new HashMap<>(exportedArticles));
+            manifest.setPages(new HashMap<>(exportedPages));
+            write(MANIFEST_FILE, objectMapper.writeValueAsBytes(manifest));
+        }
+
+        /**
+         * 先写同目录下的临时文件再原子替换，CDN 回源不会读到写了一半的文件
+         */
+        private void write(String path, byte[] bytes) throws IOException {
+            Path target = resolve(path);
+            Path dir = target.getParent();
+            Files.createDirectories(dir);
+            Path temp = Files.createTempFile(dir, ".export-", ".tmp");
+            try {
+                Files.write(temp, bytes);
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        private Path resolve(String path) {
+            Path target = root.resolve(path).normalize();
+            if (!target.startsWith(root)) {
+                throw new UncheckedIOException(new IOException("非法的导出路径：" + path));
+            }
+            return target;
+        }
+
+        private void fail(String target, Exception e) {
+            progress.getFailed().incrementAndGet();
+            progress.addError(target + "：" + e.getMessage());
+            log.warn("导出{}失败", target, e);
+        }
+
+        /**
+         * 按固定页大小切分列表；满一页后等到下一行到达才生成，以便确定是否还有下一页
+         */
+        private final class PageBuilder {
+
+            private final String dir;
+
+            private final String title;
+
+            private int page;
+
+            private List<ArticleSummaryDto> rows = new ArrayList<>();
+
+            PageBuilder(String dir, String title) {
+                this.dir = dir;
+                this.title = title;
+            }
+
+            void add(ArticleSummaryDto summary) {
+                if (rows.size() >= pageSize) {
+                    emit(true);
+                }
+                rows.add(summary);
+            }
+
+            /**
+             * @param emitEmpty 没有任何文章时是否仍生成第一页
+             */
+            void finish(boolean emitEmpty) {
+                if (!rows.isEmpty() || (page == 0 && emitEmpty)) {
+                    emit(false);
+                }
+            }
+
+            private void emit(boolean hasNext) {
+                int pageNo = ++page;
+                List<ArticleSummaryDto> pageRows = rows;
+                rows = new ArrayList<>(pageSize);
+
+                String key = dir + "/page-" + pageNo;
+                seenPages.add(key);
+                String fingerprint = fingerprint(pageRows, hasNext);
+                if (incremental && fingerprint.equals(previous.getPages().get(key))) {
+                    exportedPages.put(key, fingerprint);
+                    return;
+                }
+                submit(() -> writePage(key, title, pageNo, pageRows, hasNext, fingerprint));
+            }
+
+            private String fingerprint(List<ArticleSummaryDto> pageRows, boolean hasNext) {
+                StringBuilder source = new StringBuilder(title).append('|').append(hasNext);
+                for (ArticleSummaryDto row : pageRows) {
+                    source.append('|').append(row.getId()).append(':').append(toEpochMillis(row.getUpdateTime()))
+                            .append(':').append(row.getCategoryName());
+                }
+                return MarkdownRenderer.hash(source.toString());
+            }
+        }
+    }
+
+    private static List<Tag> resolveTags(TaxonomyCache.Snapshot taxonomy, List<Long> tagIds) {
+        if (tagIds == null || tagIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return tagIds.stream().map(taxonomy::getTag).filter(Objects::nonNull).toList();
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time == null ? 0L : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+        renderPool.shutdownNow();
+    }
+}
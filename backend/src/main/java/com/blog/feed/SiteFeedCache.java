@@ -0,0 +1,352 @@
+package com.blog.feed;
+
+import com.blog.dto.ArticleSummaryDto;
+import com.blog.entity.Article;
+import com.blog.mapper.ArticleMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 站点地图和 RSS 的磁盘缓存
+ * <p>
+ * 文件由流式结果集逐行生成（只查询元数据列，不读正文），写到本地磁盘后由接口直接输出文件，堆内存占用与文章数无关。
+ * 已发布文章集合变化（发布、修改、删除）时递增 Redis 中共享的版本号并通知其他实例；
+ * 各实例在下次请求时发现版本落后才重新生成，没有变化时始终返回磁盘上的文件，重启后也不必重新生成。
+ * 站点地图超过 {@link #MAX_URLS_PER_SITEMAP} 个 URL 时拆分为多个分片，sitemap.xml 改为分片索引。
+ *
+ * @author blog
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SiteFeedCache {
+
+    /**
+     * 单个站点地图文件的 URL 数上限（sitemaps.org 协议规定）
+     */
+    public static final int MAX_URLS_PER_SITEMAP = 50000;
+
+    private static final String VERSION_KEY = "site:feed:version";
+
+    private static final String CHANGED_CHANNEL = "site:feed:changed";
+
+    private static final String SITEMAP_FILE = "sitemap.xml";
+
+    private static final String FEED_FILE = "feed.xml";
+
+    /**
+     * 记录磁盘上文件对应的版本号
+     */
+    private static final String VERSION_FILE = "version";
+
+    private final ArticleMapper articleMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @Value("${blog.site.cache-dir:data/site-feed}")
+    private String cacheDir;
+
+    /**
+     * 前台站点地址，用于生成文章链接
+     */
+    @Value("${blog.site.base-url:http://localhost:3000}")
+    private String baseUrl;
+
+    /**
+     * 前台文章页路径前缀，后接文章ID
+     */
+    @Value("${blog.site.article-path:/article/}")
+    private String articlePath;
+
+    @Value("${blog.site.title:个人博客}")
+    private String siteTitle;
+
+    @Value("${blog.site.description:个人博客最新文章}")
+    private String siteDescription;
+
+    /**
+     * 站点地图分片的访问路径前缀（后端对外地址），分片为 {前缀}sitemap-1.xml
+     */
+    @Value("${blog.site.sitemap-base-url:http://localhost:8080/api/}")
+    private String sitemapBaseUrl;
+
+    @Value("${blog.site.feed-size:20}")
+    private int feedSize;
+
+    private Path dir;
+
+    /**
+     * 已发布文章集合的最新版本
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * 磁盘上文件对应的版本，-1 表示尚未生成
+     */
+    private volatile long builtVersion = -1;
+
+    @PostConstruct
+    public void init() {
+        dir = Paths.get(cacheDir).toAbsolutePath().normalize();
+        try {
+            String stored = stringRedisTemplate.opsForValue().get(VERSION_KEY);
+            if (stored != null) {
+                version.set(Long.parseLong(stored));
+            }
+        } catch (Exception e) {
+            log.warn("读取站点地图版本失败，从0开始", e);
+        }
+        Path versionFile = dir.resolve(VERSION_FILE);
+        try {
+            if (Files.exists(versionFile) && Files.exists(dir.resolve(SITEMAP_FILE)) && Files.exists(dir.resolve(FEED_FILE))) {
+                builtVersion = Long.parseLong(Files.readString(versionFile, StandardCharsets.UTF_8).trim());
+            }
+        } catch (Exception e) {
+            log.warn("读取站点地图缓存版本失败，将重新生成", e);
+        }
+        listenerContainer.addMessageListener((message, pattern) ->
+                version.accumulateAndGet(Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8)), Math::max),
+                new ChannelTopic(CHANGED_CHANNEL));
+    }
+
+    /**
+     * 已发布文章集合变化后调用；在事务中调用时延迟到提交之后
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doInvalidate();
+                }
+            });
+        } else {
+            doInvalidate();
+        }
+    }
+
+    private void doInvalidate() {
+        try {
+            Long next = stringRedisTemplate.opsForValue().increment(VERSION_KEY);
+            if (next != null) {
+                version.accumulateAndGet(next, Math::max);
+                stringRedisTemplate.convertAndSend(CHANGED_CHANNEL, String.valueOf(next));
+                return;
+            }
+        } catch (Exception e) {
+            log.warn("递增站点地图版本失败，仅更新本实例", e);
+        }
+        version.incrementAndGet();
+    }
+
+    /**
+     * 获取站点地图文件
+     *
+     * @param shard 0 表示 sitemap.xml（分片索引或唯一的分片），大于 0 表示第几个分片
+     * @return 分片不存在时返回 null
+     */
+    public Path getSitemap(int shard) throws IOException {
+        ensureFresh();
+        Path file = dir.resolve(shard == 0 ? SITEMAP_FILE : shardFile(shard));
+        return Files.exists(file) ? file : null;
+    }
+
+    /**
+     * 获取 RSS 文件
+     */
+    public Path getFeed() throws IOException {
+        ensureFresh();
+        return dir.resolve(FEED_FILE);
+    }
+
+    private void ensureFresh() throws IOException {
+        if (builtVersion == version.get()) {
+            return;
+        }
+        synchronized (this) {
+            long target = version.get();
+            if (builtVersion == target) {
+                return;
+            }
+            long startTime = System.currentTimeMillis();
+            try {
+                Files.createDirectories(dir);
+                int urls = generateSitemap();
+                generateFeed();
+                writeAtomically(dir.resolve(VERSION_FILE), String.valueOf(target).getBytes(StandardCharsets.UTF_8));
+                // 生成期间的新变更版本更大，下次请求会再次生成
+                builtVersion = target;
+                log.info("站点地图和RSS已重新生成，版本{}，{}个URL，耗时{}ms", target, urls,
+                        System.currentTimeMillis() - startTime);
+            } catch (XMLStreamException e) {
+                throw new IOException("生成站点地图失败", e);
+            }
+        }
+    }
+
+    /**
+     * 按文章ID顺序流式生成站点地图分片，写满一个分片后换下一个；全部完成后再替换正式文件
+     *
+     * @return URL 总数
+     */
+    private int generateSitemap() throws IOException, XMLStreamException {
+        List<Path> shards = new ArrayList<>();
+        SitemapShards writer = new SitemapShards(shards);
+        try {
+            writer.add(baseUrl + "/", null);
+            articleMapper.streamSitemapEntries(context -> {
+                Article article = context.getResultObject();
+                writer.add(baseUrl + articlePath + article.getId(), article.getUpdateTime());
+            });
+            writer.close();
+        } catch (Exception e) {
+            writer.closeQuietly();
+            shards.forEach(SiteFeedCache::deleteQuietly);
+            throw e;
+        }
+
+        if (shards.size() == 1) {
+            move(shards.get(0), dir.resolve(SITEMAP_FILE));
+        } else {
+            for (int i = 0; i < shards.size(); i++) {
+                move(shards.get(i), dir.resolve(shardFile(i + 1)));
+            }
+            Path index = Files.createTempFile(dir, ".sitemap-", ".tmp");
+            try (SiteFeedWriter indexWriter = SiteFeedWriter.sitemapIndex(index)) {
+                LocalDateTime now = LocalDateTime.now();
+                for (int i = 1; i <= shards.size(); i++) {
+                    indexWriter.sitemap(sitemapBaseUrl + shardFile(i), now);
+                }
+            }
+            move(index, dir.resolve(SITEMAP_FILE));
+        }
+        // 删除上次生成的多余分片
+        int first = shards.size() == 1 ? 1 : shards.size() + 1;
+        for (int i = first; Files.deleteIfExists(dir.resolve(shardFile(i))); i++) {
+            log.debug("删除多余的站点地图分片：{}", i);
+        }
+        return writer.total;
+    }
+
+    private void generateFeed() throws IOException, XMLStreamException {
+        Path temp = Files.createTempFile(dir, ".feed-", ".tmp");
+        try {
+            try (SiteFeedWriter writer = SiteFeedWriter.rss(temp, siteTitle, baseUrl + "/", siteDescription,
+                    LocalDateTime.now())) {
+                articleMapper.streamFeedEntries(feedSize, context -> {
+                    ArticleSummaryDto article = context.getResultObject();
+                    try {
+                        writer.item(article.getTitle(), baseUrl + articlePath + article.getId(), article.getSummary(),
+                                article.getCategoryName(), article.getPublishTime());
+                    } catch (XMLStreamException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+            }
+            move(temp, dir.resolve(FEED_FILE));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String shardFile(int shard) {
+        return "sitemap-" + shard + ".xml";
+    }
+
+    private static void writeAtomically(Path target, byte[] bytes) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), ".version-", ".tmp");
+        try {
+            Files.write(temp, bytes);
+            move(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 原子替换，正在读取旧文件的请求不受影响
+     */
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("删除临时文件失败：{}", file, e);
+        }
+    }
+
+    /**
+     * 依次写入的站点地图分片，每个分片是一个临时文件
+     */
+    private final class SitemapShards {
+
+        private final List<Path> shards;
+
+        private SiteFeedWriter current;
+
+        private int total;
+
+        SitemapShards(List<Path> shards) {
+            this.shards = shards;
+        }
+
+        void add(String loc, LocalDateTime lastModified) {
+            try {
+                if (current == null || current.count() >= MAX_URLS_PER_SITEMAP) {
+                    close();
+                    Path shard = Files.createTempFile(dir, ".sitemap-", ".tmp");
+                    shards.add(shard);
+                    current = SiteFeedWriter.urlset(shard);
+                }
+                current.url(loc, lastModified);
+                total++;
+            } catch (IOException | XMLStreamException e) {
+                throw new IllegalStateException("写入站点地图失败", e);
+            }
+        }
+
+        void close() throws IOException, XMLStreamException {
+            if (current != null) {
+                SiteFeedWriter writer = current;
+                current = null;
+                writer.close();
+            }
+        }
+
+        void closeQuietly() {
+            try {
+                close();
+            } catch (Exception e) {
+                log.warn("关闭站点地图分片失败", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.blog.feed;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 站点地图和 RSS 的流式 XML 写出
+ * <p>
+ * 基于 StAX 逐个元素写入文件，不在内存中构建文档树。
+ *
+ * @author blog
+ */
+final class SiteFeedWriter implements AutoCloseable {
+
+    static final String SITEMAP_NS = "http://www.sitemaps.org/schemas/sitemap/0.9";
+
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    private final OutputStream out;
+
+    private final XMLStreamWriter xml;
+
+    private int count;
+
+    private SiteFeedWriter(Path file) throws IOException, XMLStreamException {
+        this.out = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024);
+        this.xml = OUTPUT_FACTORY.createXMLStreamWriter(out, "UTF-8");
+        xml.writeStartDocument("UTF-8", "1.0");
+    }
+
+    /**
+     * 开始一个站点地图分片（urlset）
+     */
+    static SiteFeedWriter urlset(Path file) throws IOException, XMLStreamException {
+        SiteFeedWriter writer = new SiteFeedWriter(file);
+        writer.xml.writeStartElement("urlset");
+        writer.xml.writeDefaultNamespace(SITEMAP_NS);
+        return writer;
+    }
+
+    /**
+     * 开始站点地图索引（sitemapindex）
+     */
+    static SiteFeedWriter sitemapIndex(Path file) throws IOException, XMLStreamException {
+        SiteFeedWriter writer = new SiteFeedWriter(file);
+        writer.xml.writeStartElement("sitemapindex");
+        writer.xml.writeDefaultNamespace(SITEMAP_NS);
+        return writer;
+    }
+
+    /**
+     * 开始 RSS 2.0 频道
+     */
+    static SiteFeedWriter rss(Path file, String title, String link, String description, LocalDateTime lastBuildDate)
+            throws IOException, XMLStreamException {
+        SiteFeedWriter writer = new SiteFeedWriter(file);
+        writer.xml.writeStartElement("rss");
+        writer.xml.writeAttribute("version", "2.0");
+        writer.xml.writeStartElement("channel");
+        writer.element("title", title);
+        writer.element("link", link);
+        writer.element("description", description);
+        writer.element("language", "zh-CN");
+        if (lastBuildDate != null) {
+            writer.element("lastBuildDate", rfc1123(lastBuildDate));
+        }
+        return writer;
+    }
+
+    void url(String loc, LocalDateTime lastModified) throws XMLStreamException {
+        entry("url", loc, lastModified);
+    }
+
+    void sitemap(String loc, LocalDateTime lastModified) throws XMLStreamException {
+        entry("sitemap", loc, lastModified);
+    }
+
+    void item(String title, String link, String description, String category, LocalDateTime pubDate)
+            throws XMLStreamException {
+        xml.writeStartElement("item");
+        element("title", title);
+        element("link", link);
+        xml.writeStartElement("guid");
+        xml.writeAttribute("isPermaLink", "true");
+        xml.writeCharacters(link);
+        xml.writeEndElement();
+        if (pubDate != null) {
+            element("pubDate", rfc1123(pubDate));
+        }
+        if (category != null) {
+            element("category", category);
+        }
+        if (description != null) {
+            element("description", description);
+        }
+        xml.writeEndElement();
+        count++;
+    }
+
+    /**
+     * 已写入的条目数
+     */
+    int count() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException, XMLStreamException {
+        try {
+            xml.writeEndDocument();
+            xml.flush();
+            xml.close();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void entry(String name, String loc, LocalDateTime lastModified) throws XMLStreamException {
+        xml.writeStartElement(name);
+        element("loc", loc);
+        if (lastModified != null) {
+            element("lastmod", lastModified.atZone(ZoneId.systemDefault()).toOffsetDateTime()
+                    .truncatedTo(ChronoUnit.SECONDS).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
+        }
+        xml.writeEndElement();
+        count++;
+    }
+
+    private void element(String name, String text) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(text == null ? "" : text);
+        xml.writeEndElement();
+    }
+
+    private static String rfc1123(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).format(DateTimeFormatter.RFC_1123_DATE_TIME);
+    }
+}
@@ -1,15 +1,15 @@
 package com.blog.filter;
 
-import com.blog.service.UserService;
+import com.blog.cache.UserPrincipalCache;
+import com.blog.security.JwtPrincipal;
+import com.blog.security.UserPrincipal;
 import com.blog.utils.JwtUtil;
-import com.blog.entity.User;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationContext;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -23,6 +23,9 @@ import java.util.Collections;
 
 /**
  * JWT认证过滤器
+ * <p>
+ * 每个请求只验证一次令牌，验证得到的 {@link JwtPrincipal} 放入请求属性供后续读取；
+ * 用户状态和角色从 {@link UserPrincipalCache} 获取，不再每次查询用户表。
  * 
  * @author blog
  */
@@ -32,7 +35,7 @@ import java.util.Collections;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final ApplicationContext applicationContext;
+    private final UserPrincipalCache userPrincipalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -41,28 +44,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         String token = getTokenFromRequest(request);
         
-        if (StringUtils.hasText(token) && jwtUtil.validateToken(token)) {
-            String username = jwtUtil.getUsernameFromToken(token);
+        JwtPrincipal principal = StringUtils.hasText(token) ? jwtUtil.parseToken(token) : null;
+        
+        if (principal != null && principal.getUserId() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserPrincipal user = userPrincipalCache.get(principal.getUserId());
             
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // 延迟获取UserService以避免循环依赖
-                UserService userService = applicationContext.getBean(UserService.class);
-                User user = userService.findByUsername(username);
+            if (user != null && user.isEnabled() && user.getUsername().equals(principal.getUsername())) {
+                // 创建认证对象
+                UsernamePasswordAuthenticationToken authentication = 
+                    new UsernamePasswordAuthenticationToken(
+                        user, 
+                        null, 
+                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole()))
+                    );
+                
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                request.setAttribute(JwtPrincipal.REQUEST_ATTRIBUTE, principal);
                 
-                if (user != null && user.getStatus() == 1) {
-                    // 创建认证对象
-                    UsernamePasswordAuthenticationToken authentication = 
-                        new UsernamePasswordAuthenticationToken(
-                            user, 
-                            null, 
-                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole()))
-                        );
-                    
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                    
-                    log.debug("JWT认证成功，用户：{}", username);
-                }
+                log.debug("JWT认证成功，用户：{}", principal.getUsername());
             }
         }
         
@@ -0,0 +1,278 @@
+package com.blog.importer;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * 流式读取 zip / tar / tar.gz 归档
+ * <p>
+ * 按魔数识别格式，逐个条目回调，不缓存整个归档。tar 支持 ustar 前缀、GNU 长文件名和 PAX path 扩展头。
+ * 回调中的输入流只包含当前条目的内容，回调返回后剩余内容会被跳过，无需（也不应）关闭。
+ *
+ * @author blog
+ */
+public final class ArchiveReader {
+
+    private static final int TAR_BLOCK = 512;
+
+    /**
+     * GNU 长文件名和 PAX 扩展头的大小上限，扩展头需整个读入内存
+     */
+    private static final int MAX_EXTENDED_HEADER = 64 * 1024;
+
+    private ArchiveReader() {
+    }
+
+    @FunctionalInterface
+    public interface EntryHandler {
+
+        /**
+         * 处理一个文件条目
+         *
+         * @param name    条目在归档中的路径
+         * @param content 条目内容
+         */
+        void accept(String name, InputStream content) throws IOException;
+    }
+
+    /**
+     * 读取归档中的全部文件条目（目录、链接等非普通文件会被跳过）
+     */
+    public static void read(InputStream in, EntryHandler handler) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, 64 * 1024);
+        buffered.mark(4);
+        int b0 = buffered.read();
+        int b1 = buffered.read();
+        int b2 = buffered.read();
+        int b3 = buffered.read();
+        buffered.reset();
+
+        if (b0 == 'P' && b1 == 'K' && b2 == 3 && b3 == 4) {
+            readZip(buffered, handler);
+        } else if (b0 == 0x1f && b1 == 0x8b) {
+            readTar(new BufferedInputStream(new GZIPInputStream(buffered, 64 * 1024), 64 * 1024), handler);
+        } else if (b0 >= 0) {
+            readTar(buffered, handler);
+        }
+    }
+
+    private static void readZip(InputStream in, EntryHandler handler) throws IOException {
+        ZipInputStream zip = new ZipInputStream(in, StandardCharsets.UTF_8);
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            if (!entry.isDirectory()) {
+                handler.accept(entry.getName(), new EntryInputStream(zip, Long.MAX_VALUE));
+            }
+        }
+    }
+
+    private static void readTar(InputStream in, EntryHandler handler) throws IOException {
+        byte[] header = new byte[TAR_BLOCK];
+        String longName = null;
+        while (readBlock(in, header)) {
+            if (isZeroBlock(header)) {
+                // 归档结束（两个全零块）
+                return;
+            }
+            long size = parseSize(header);
+            byte type = header[156];
+            String name = longName != null ? longName : headerName(header);
+            longName = null;
+
+            if ((type == 'L' || type == 'x') && size > MAX_EXTENDED_HEADER) {
+                throw new IllegalArgumentException("tar扩展头过大");
+            }
+            EntryInputStream content = new EntryInputStream(in, size);
+            if (type == 'L') {
+                longName = cString(content.readAll(), 0, (int) size);
+            } else if (type == 'x') {
+                longName = paxPath(content.readAll());
+            } else if (type == '0' || type == 0) {
+                handler.accept(name, content);
+            }
+            content.skipRemaining();
+            in.skipNBytes(padding(size));
+        }
+    }
+
+    private static String headerName(byte[] header) {
+        String name = cString(header, 0, 100);
+        boolean ustar = header[257] == 'u' && header[258] == 's' && header[259] == 't'
+                && header[260] == 'a' && header[261] == 'r';
+        if (ustar) {
+            String prefix = cString(header, 345, 155);
+            if (!prefix.isEmpty()) {
+                return prefix + "/" + name;
+            }
+        }
+        return name;
+    }
+
+    /**
+     * 从 PAX 扩展头中取出 path，格式为若干条 "长度 key=value\n"，长度按字节计且包含长度字段本身
+     */
+    private static String paxPath(byte[] data) {
+        int pos = 0;
+        while (pos < data.length) {
+            int space = pos;
+            while (space < data.length && data[space] != ' ') {
+                space++;
+            }
+            if (space == data.length) {
+                break;
+            }
+            int length;
+            try {
+                length = Integer.parseInt(new String(data, pos, space - pos, StandardCharsets.US_ASCII));
+            } catch (NumberFormatException e) {
+                break;
+            }
+            if (length <= space - pos + 1 || length > data.length - pos || data[pos + length - 1] != '\n') {
+                throw new IllegalArgumentException("无效的PAX扩展头");
+            }
+            int end = pos + length;
+            String record = new String(data, space + 1, end - 1 - (space + 1), StandardCharsets.UTF_8);
+            if (record.startsWith("path=")) {
+                return record.substring("path=".length());
+            }
+            pos = end;
+        }
+        return null;
+    }
+
+    private static long parseSize(byte[] header) {
+        if ((header[124] & 0x80) != 0) {
+            // GNU base-256 编码，用于超过 8GB 的条目
+            long size = 0;
+            for (int i = 125; i < 136; i++) {
+                size = (size << 8) | (header[i] & 0xff);
+            }
+            return size;
+        }
+        long size = 0;
+        for (int i = 124; i < 136; i++) {
+            byte b = header[i];
+            if (b == 0 || b == ' ') {
+                if (size > 0) {
+                    break;
+                }
+                continue;
+            }
+            if (b < '0' || b > '7') {
+                throw new IllegalArgumentException("无效的tar条目大小");
+            }
+            size = size * 8 + (b - '0');
+        }
+        return size;
+    }
+
+    private static String cString(byte[] data, int offset, int length) {
+        int end = offset;
+        while (end < offset + length && end < data.length && data[end] != 0) {
+            end++;
+        }
+        return new String(data, offset, end - offset, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isZeroBlock(byte[] block) {
+        for (byte b : block) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long padding(long size) {
+        long remainder = size % TAR_BLOCK;
+        return remainder == 0 ? 0 : TAR_BLOCK - remainder;
+    }
+
+    private static boolean readBlock(InputStream in, byte[] block) throws IOException {
+        int read = in.readNBytes(block, 0, block.length);
+        if (read == 0) {
+            return false;
+        }
+        if (read < block.length) {
+            throw new EOFException("tar归档不完整");
+        }
+        return true;
+    }
+
+    /**
+     * 当前条目的内容视图：最多读取 limit 字节，关闭时不关闭底层归档流
+     */
+    private static final class EntryInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        EntryInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = in.read(b, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(in.available(), remaining);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        byte[] readAll() throws IOException {
+            return readAllBytes();
+        }
+
+        void skipRemaining() throws IOException {
+            if (remaining == Long.MAX_VALUE) {
+                return;
+            }
+            in.skipNBytes(remaining);
+            remaining = 0;
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.blog.importer;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.blog.cache.ArticleCollectionVersion;
+import com.blog.cache.TaxonomyCache;
+import com.blog.entity.Article;
+import com.blog.entity.ArticleTag;
+import com.blog.entity.Category;
+import com.blog.entity.Tag;
+import com.blog.feed.SiteFeedCache;
+import com.blog.mapper.ArticleMapper;
+import com.blog.mapper.ArticleTagMapper;
+import com.blog.mapper.CategoryMapper;
+import com.blog.mapper.TagMapper;
+import com.blog.render.MarkdownRenderer;
+import com.blog.search.ArticleSearchIndex;
+import com.blog.search.TagArticleIndex;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Markdown 归档批量导入
+ * <p>
+ * 逐个读取归档条目并解析 front-matter，攒够一批（按篇数或正文大小）后并行渲染，
+ * 在一个事务中用多行 INSERT 写入文章和标签关联。某一批失败只影响该批，其余批次照常导入。
+ * 缺少的分类和标签按名称自动创建。
+ *
+ * @author blog
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleImporter {
+
+    private static final int TITLE_MAX_LENGTH = 200;
+
+    private static final int NAME_MAX_LENGTH = 50;
+
+    private final ArticleMapper articleMapper;
+    private final ArticleTagMapper articleTagMapper;
+    private final CategoryMapper categoryMapper;
+    private final TagMapper tagMapper;
+    private final TaxonomyCache taxonomyCache;
+    private final MarkdownRenderer markdownRenderer;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final TagArticleIndex tagArticleIndex;
+    private final ArticleCollectionVersion articleCollectionVersion;
+    private final SiteFeedCache siteFeedCache;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 每批最多写入的文章数
+     */
+    @Value("${blog.import.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * 每批正文的最大字节数；渲染后的HTML同样写入，实际SQL约为该值的两到三倍，需小于 max_allowed_packet
+     */
+    @Value("${blog.import.batch-max-kb:8192}")
+    private int batchMaxKb;
+
+    /**
+     * 单个 Markdown 文件的最大字节数
+     */
+    @Value("${blog.import.max-entry-kb:2048}")
+    private int maxEntryKb;
+
+    /**
+     * 渲染并行度，0 表示使用 CPU 核数
+     */
+    @Value("${blog.import.parallelism:0}")
+    private int parallelism;
+
+    private ForkJoinPool renderPool;
+
+    /**
+     * 进行中和最近完成的导入任务
+     */
+    private Cache<String, ImportProgress> jobs;
+
+    @PostConstruct
+    public void init() {
+        renderPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        jobs = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofHours(1))
+                .build();
+    }
+
+    /**
+     * 查询导入进度
+     *
+     * @return 任务不存在或已过期时返回 null
+     */
+    public ImportProgress getProgress(String importId) {
+        return jobs.getIfPresent(importId);
+    }
+
+    /**
+     * 导入归档中的全部 Markdown 文件，在调用线程上同步执行
+     *
+     * @param in       zip、tar 或 tar.gz 归档
+     * @param authorId 导入文章的作者
+     * @param importId 任务ID，为空时自动生成；导入期间可用它查询进度
+     */
+    public ImportProgress importArchive(InputStream in, Long authorId, String importId) {
+        String id = StringUtils.hasText(importId) ? importId : UUID.randomUUID().toString().replace("-", "");
+        ImportProgress progress = new ImportProgress(id);
+        if (jobs.asMap().putIfAbsent(id, progress) != null) {
+            throw new RuntimeException("导入任务ID已存在");
+        }
+
+        long startTime = System.currentTimeMillis();
+        Context context = new Context(authorId, progress, taxonomyCache.current());
+        long maxEntryBytes = maxEntryKb * 1024L;
+        try {
+            ArchiveReader.read(in, (name, content) -> {
+                progress.getEntries().incrementAndGet();
+                if (!isMarkdown(name)) {
+                    progress.getSkipped().incrementAndGet();
+                    return;
+                }
+                byte[] data = content.readNBytes((int) maxEntryBytes + 1);
+                if (data.length > maxEntryBytes) {
+                    fail(progress, name, "文件超过" + maxEntryKb + "KB");
+                    return;
+                }
+                try {
+                    context.add(name, FrontMatter.parse(decode(data)), data.length);
+                } catch (Exception e) {
+                    fail(progress, name, "解析失败：" + e.getMessage());
+                    return;
+                }
+                if (context.pending.size() >= batchSize || context.pendingBytes >= batchMaxKb * 1024L) {
+                    flush(context);
+                }
+            });
+            flush(context);
+            progress.finish(ImportProgress.Status.COMPLETED);
+        } catch (Exception e) {
+            // 归档损坏或连接中断：已完整读出的条目照常写入
+            flush(context);
+            progress.addError("读取归档失败：" + e.getMessage());
+            progress.finish(ImportProgress.Status.FAILED);
+            log.error("读取导入归档失败：{}", id, e);
+        } finally {
+            if (progress.getImported().get() > 0) {
+                articleCollectionVersion.bump();
+            }
+            if (context.publishedImported) {
+                siteFeedCache.invalidate();
+            }
+            if (context.taxonomyChanged) {
+                taxonomyCache.refresh();
+            }
+            jobs.put(id, progress);
+        }
+        log.info("文章导入结束：{}，条目{}，导入{}，跳过{}，失败{}，耗时{}ms", id, progress.getEntries().get(),
+                progress.getImported().get(), progress.getSkipped().get(), progress.getFailed().get(),
+                System.currentTimeMillis() - startTime);
+        return progress;
+    }
+
+    private void flush(Context context) {
+        if (context.pending.isEmpty()) {
+            return;
+        }
+        List<PendingArticle> batch = new ArrayList<>(context.pending);
+        context.pending.clear();
+        context.pendingBytes = 0;
+        ImportProgress progress = context.progress;
+
+        try {
+            // 分类、标签按名称解析（缺少的先创建并单独提交），再并行渲染
+            for (PendingArticle pending : batch) {
+                pending.categoryId = context.categoryId(pending.matter.getCategory());
+                pending.tagIds = pending.matter.getTags().stream().map(context::tagId).distinct().toList();
+            }
+            List<Article> articles = renderPool.submit(() -> batch.parallelStream()
+                    .map(pending -> toArticle(pending, context.authorId))
+                    .toList()).join();
+
+            transactionTemplate.executeWithoutResult(status -> {
+                articleMapper.batchInsert(articles);
+                List<ArticleTag> links = new ArrayList<>();
+                for (int i = 0; i < batch.size(); i++) {
+                    Long articleId = articles.get(i).getId();
+                    batch.get(i).tagIds.forEach(tagId -> links.add(new ArticleTag(articleId, tagId)));
+                }
+                if (!links.isEmpty()) {
+                    articleTagMapper.batchInsertIgnore(links);
+                }
+            });
+            articleSearchIndex.onArticlesCreated(articles);
+            tagArticleIndex.onArticlesChanged(articles.stream().map(Article::getId).toList());
+            progress.getImported().addAndGet(articles.size());
+            if (articles.stream().anyMatch(article -> "PUBLISHED".equals(article.getStatus()))) {
+                context.publishedImported = true;
+            }
+        } catch (Exception e) {
+            progress.getFailed().addAndGet(batch.size());
+            progress.addError(batch.get(0).name + " 至 " + batch.get(batch.size() - 1).name
+                    + " 共" + batch.size() + "篇写入失败：" + e.getMessage());
+            log.error("导入文章批次失败：{}", progress.getImportId(), e);
+        }
+        jobs.put(progress.getImportId(), progress);
+    }
+
+    private Article toArticle(PendingArticle pending, Long authorId) {
+        FrontMatter matter = pending.matter;
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime date = matter.getDate() != null ? matter.getDate() : now;
+
+        Article article = new Article();
+        article.setTitle(truncate(matter.getTitle() != null ? matter.getTitle() : baseName(pending.name), TITLE_MAX_LENGTH));
+        article.setContent(matter.getBody());
+        article.setSummary(matter.getSummary());
+        article.setCoverImage(matter.getCoverImage());
+        article.setCategoryId(pending.categoryId);
+        article.setAuthorId(authorId);
+        article.setStatus(matter.isDraft() ? "DRAFT" : "PUBLISHED");
+        article.setPublishTime(matter.isDraft() ? null : date);
+        article.setIsTop(0);
+        article.setIsRecommend(0);
+        article.setViewCount(0L);
+        article.setLikeCount(0L);
+        article.setCommentCount(0L);
+        article.setCreateTime(date);
+        article.setUpdateTime(now);
+        markdownRenderer.render(matter.getBody()).applyTo(article);
+        return article;
+    }
+
+    private static void fail(ImportProgress progress, String name, String reason) {
+        progress.getFailed().incrementAndGet();
+        progress.addError(name + "：" + reason);
+    }
+
+    private static boolean isMarkdown(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        String fileName = baseName(name);
+        // 跳过隐藏文件和 macOS 打包时附带的资源文件
+        return (lower.endsWith(".md") || lower.endsWith(".markdown"))
+                && !fileName.startsWith(".") && !lower.startsWith("__macosx/");
+    }
+
+    private static String baseName(String name) {
+        String fileName = name.substring(name.lastIndexOf('/') + 1);
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+
+    private static String decode(byte[] data) {
+        String text = new String(data, StandardCharsets.UTF_8);
+        // 去掉 BOM，统一换行符
+        if (text.startsWith("\uFEFF")) {
+            text = text.substring(1);
+        }
+        return text.replace("\r\n", "\n");
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderPool.shutdownNow();
+    }
+
+    private static final class PendingArticle {
+
+        private final String name;
+
+        private final FrontMatter matter;
+
+        private Long categoryId;
+
+        private List<Long> tagIds;
+
+        PendingArticle(String name, FrontMatter matter) {
+            this.name = name;
+            this.matter = matter;
+        }
+    }
+
+    /**
+     * 单次导入的状态：待写入的文章，以及按名称（忽略大小写）解析过的分类和标签
+     */
+    private final class Context {
+
+        private final Long authorId;
+
+        private final ImportProgress progress;
+
+        private final Map<String, Long> categoryIds = new HashMap<>();
+
+        private final Map<String, Long> tagIds = new HashMap<>();
+
+        private final List<PendingArticle> pending = new ArrayList<>();
+
+        private long pendingBytes;
+
+        private boolean taxonomyChanged;
+
+        /**
+         * 是否导入了已发布的文章
+         */
+        private boolean publishedImported;
+
+        Context(Long authorId, ImportProgress progress, TaxonomyCache.Snapshot snapshot) {
+            this.authorId = authorId;
+            this.progress = progress;
+            snapshot.getCategories().forEach(category -> categoryIds.put(key(category.getName()), category.getId()));
+            snapshot.getTags().forEach(tag -> tagIds.put(key(tag.getName()), tag.getId()));
+        }
+
+        void add(String name, FrontMatter matter, int bytes) {
+            pending.add(new PendingArticle(name, matter));
+            pendingBytes += bytes;
+        }
+
+        Long categoryId(String name) {
+            if (name == null) {
+                return null;
+            }
+            String categoryName = truncate(name, NAME_MAX_LENGTH);
+            return categoryIds.computeIfAbsent(key(categoryName), key -> {
+                Category category = categoryMapper.selectOne(
+                        new LambdaQueryWrapper<Category>().eq(Category::getName, categoryName));
+                if (category == null) {
+                    category = new Category();
+                    category.setName(categoryName);
+                    categoryMapper.insert(category);
+                    taxonomyChanged = true;
+                }
+                return category.getId();
+            });
+        }
+
+        Long tagId(String name) {
+            String tagName = truncate(name, NAME_MAX_LENGTH);
+            return tagIds.computeIfAbsent(key(tagName), key -> {
+                Tag tag = tagMapper.selectOne(new LambdaQueryWrapper<Tag>().eq(Tag::getName, tagName));
+                if (tag == null) {
+                    tag = new Tag();
+                    tag.setName(tagName);
+                    tagMapper.insert(tag);
+                    taxonomyChanged = true;
+                }
+                return tag.getId();
+            });
+        }
+
+        private String key(String name) {
+            return name.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.blog.importer;
+
+import lombok.Getter;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Markdown 文件头部的 YAML front-matter
+ * <p>
+ * 兼容 Hexo / Jekyll / Hugo 的常见写法：tags 可以是列表或逗号分隔的字符串，分类取 category 或 categories 的第一项，
+ * 摘要取 summary 或 description，draft 为 true 时导入为草稿。
+ *
+ * @author blog
+ */
+@Getter
+public class FrontMatter {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd[ ]['T']HH:mm[:ss]");
+
+    private String title;
+
+    private List<String> tags = new ArrayList<>();
+
+    private String category;
+
+    private LocalDateTime date;
+
+    private String summary;
+
+    private String coverImage;
+
+    private boolean draft;
+
+    /**
+     * 去掉 front-matter 后的正文
+     */
+    private String body;
+
+    private FrontMatter() {
+    }
+
+    /**
+     * 解析文件内容；没有 front-matter 时整个文件都是正文
+     */
+    public static FrontMatter parse(String text) {
+        FrontMatter matter = new FrontMatter();
+        matter.body = text;
+        if (!text.startsWith("---")) {
+            return matter;
+        }
+        int headerEnd = text.indexOf('\n');
+        if (headerEnd < 0 || !text.substring(0, headerEnd).trim().equals("---")) {
+            return matter;
+        }
+        int pos = headerEnd + 1;
+        while (pos < text.length()) {
+            int lineEnd = text.indexOf('\n', pos);
+            int end = lineEnd < 0 ? text.length() : lineEnd;
+            String line = text.substring(pos, end).trim();
+            if (line.equals("---") || line.equals("...")) {
+                Object yaml = new Yaml(new SafeConstructor(new LoaderOptions())).load(text.substring(headerEnd + 1, pos));
+                if (yaml instanceof Map<?, ?> fields) {
+                    matter.apply(fields);
+                    matter.body = lineEnd < 0 ? "" : text.substring(lineEnd + 1);
+                }
+                return matter;
+            }
+            pos = end + 1;
+        }
+        return matter;
+    }
+
+    private void apply(Map<?, ?> fields) {
+        title = string(fields.get("title"));
+        tags = list(fields.get("tags"));
+        List<String> categories = list(fields.containsKey("category") ? fields.get("category") : fields.get("categories"));
+        category = categories.isEmpty() ? null : categories.get(0);
+        date = dateTime(fields.containsKey("date") ? fields.get("date") : fields.get("publishDate"));
+        summary = string(fields.containsKey("summary") ? fields.get("summary") : fields.get("description"));
+        coverImage = string(fields.containsKey("cover") ? fields.get("cover") : fields.get("coverImage"));
+        draft = Boolean.TRUE.equals(fields.get("draft"))
+                || "true".equalsIgnoreCase(string(fields.get("draft")));
+    }
+
+    private static String string(Object value) {
+        if (value == null) {
+            return null;
+        }
+        String text = value.toString().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    private static List<String> list(Object value) {
+        LinkedHashSet<String> values = new LinkedHashSet<>();
+        if (value instanceof Collection<?> items) {
+            for (Object item : items) {
+                // Hexo 的多级分类写成嵌套列表，只取第一级
+                Object first = item instanceof Collection<?> nested && !nested.isEmpty() ? nested.iterator().next() : item;
+                String text = string(first);
+                if (text != null) {
+                    values.add(text);
+                }
+            }
+        } else if (value != null) {
+            for (String part : value.toString().split("[,，]")) {
+                String text = string(part);
+                if (text != null) {
+                    values.add(text);
+                }
+            }
+        }
+        return new ArrayList<>(values);
+    }
+
+    private static LocalDateTime dateTime(Object value) {
+        if (value instanceof Date date) {
+            // YAML 时间戳未写时区时按 UTC 解析，这里按原样还原为本地时间
+            return LocalDateTime.ofInstant(date.toInstant(), ZoneOffset.UTC);
+        }
+        String text = string(value);
+        if (text == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(text, DATE_TIME);
+        } catch (DateTimeParseException ignored) {
+            // 尝试其他格式
+        }
+        try {
+            return LocalDate.parse(text).atStartOfDay();
+        } catch (DateTimeParseException ignored) {
+            // 尝试其他格式
+        }
+        try {
+            return OffsetDateTime.parse(text).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
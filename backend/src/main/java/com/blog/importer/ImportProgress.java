@@ -0,0 +1,78 @@
+package com.blog.importer;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 文章导入进度
+ * <p>
+ * 导入线程更新计数，其他请求可随时读取；错误明细最多保留 {@link #MAX_ERRORS} 条。
+ *
+ * @author blog
+ */
+@Getter
+public class ImportProgress {
+
+    public static final int MAX_ERRORS = 100;
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private final String importId;
+
+    private volatile Status status = Status.RUNNING;
+
+    /**
+     * 已读取的归档条目数
+     */
+    private final AtomicInteger entries = new AtomicInteger();
+
+    /**
+     * 已写入数据库的文章数
+     */
+    private final AtomicInteger imported = new AtomicInteger();
+
+    /**
+     * 跳过的条目数（非 Markdown 文件）
+     */
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    /**
+     * 失败的文章数
+     */
+    private final AtomicInteger failed = new AtomicInteger();
+
+    private final List<String> errors = new ArrayList<>();
+
+    private final LocalDateTime startTime = LocalDateTime.now();
+
+    private volatile LocalDateTime finishTime;
+
+    public ImportProgress(String importId) {
+        this.importId = importId;
+    }
+
+    public List<String> getErrors() {
+        synchronized (errors) {
+            return new ArrayList<>(errors);
+        }
+    }
+
+    void addError(String error) {
+        synchronized (errors) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(error);
+            }
+        }
+    }
+
+    void finish(Status status) {
+        this.status = status;
+        this.finishTime = LocalDateTime.now();
+    }
+}
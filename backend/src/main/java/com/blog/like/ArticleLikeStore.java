@@ -0,0 +1,319 @@
+package com.blog.like;
+
+import com.blog.entity.ArticleLike;
+import com.blog.mapper.ArticleLikeMapper;
+import com.blog.mapper.ArticleMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文章点赞状态
+ * <p>
+ * 每篇文章在内存中保存一个点赞用户的 {@link LikeBitmap}，首次访问时从 article_likes 加载，
+ * 之后"是否已点赞"和"点赞数"都不再查库。点赞/取消点赞只修改位图并记录待落库变更，
+ * 同一用户在两次落库之间的反复操作会合并成最终状态，由后台线程批量写入 article_likes 和 like_count。
+ * 位图按文章数上限和空闲时间淘汰；重新加载时叠加尚未落库（含正在落库）的变更。
+ *
+ * @author blog
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleLikeStore {
+
+    private final ArticleLikeMapper articleLikeMapper;
+    private final ArticleMapper articleMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${blog.like.flush-interval-ms:2000}")
+    private long flushIntervalMs;
+
+    @Value("${blog.like.batch-size:500}")
+    private int batchSize;
+
+    @Value("${blog.like.max-articles:10000}")
+    private long maxArticles;
+
+    @Value("${blog.like.idle-minutes:30}")
+    private long idleMinutes;
+
+    private Cache<Long, LikeBitmap> bitmaps;
+
+    private final Map<LikeKey, PendingChange> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 已从 pending 取出、正在写库的变更；写库期间淘汰后重新加载的位图也要叠加它们
+     */
+    private final Map<LikeKey, PendingChange> inflight = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    public void init() {
+        bitmaps = Caffeine.newBuilder()
+                .maximumSize(maxArticles)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, bitmaps, "articleLikes");
+
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "like-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("blog.article.like.pending", pending, Map::size)
+                .description("尚未落库的点赞变更")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 点赞
+     *
+     * @return 之前未点赞时返回 true；重复点赞返回 false 且不产生任何写入
+     */
+    public boolean like(Long articleId, Long userId) {
+        return change(articleId, userId, true);
+    }
+
+    /**
+     * 取消点赞
+     *
+     * @return 之前已点赞时返回 true
+     */
+    public boolean unlike(Long articleId, Long userId) {
+        return change(articleId, userId, false);
+    }
+
+    public boolean hasLiked(Long articleId, Long userId) {
+        LikeBitmap bitmap = bitmap(articleId);
+        synchronized (bitmap) {
+            return bitmap.contains(userId);
+        }
+    }
+
+    public long getLikeCount(Long articleId) {
+        LikeBitmap bitmap = bitmap(articleId);
+        synchronized (bitmap) {
+            return bitmap.getCardinality();
+        }
+    }
+
+    /**
+     * 获取已加载到内存的点赞数，未加载时返回 null（列表场景不为此触发加载）
+     */
+    public Long getLoadedLikeCount(Long articleId) {
+        LikeBitmap bitmap = bitmaps.getIfPresent(articleId);
+        if (bitmap == null) {
+            return null;
+        }
+        synchronized (bitmap) {
+            return (long) bitmap.getCardinality();
+        }
+    }
+
+    /**
+     * 丢弃文章的点赞状态和未落库变更（文章删除时调用）
+     */
+    public void discard(Long articleId) {
+        bitmaps.invalidate(articleId);
+        pending.keySet().removeIf(key -> key.articleId == articleId);
+    }
+
+    private boolean change(Long articleId, Long userId, boolean liked) {
+        LikeBitmap bitmap = bitmap(articleId);
+        synchronized (bitmap) {
+            boolean changed = liked ? bitmap.add(userId) : bitmap.remove(userId);
+            if (!changed) {
+                return false;
+            }
+            pending.compute(new LikeKey(articleId, userId), (key, existing) ->
+                    existing == null ? new PendingChange(!liked, liked) : new PendingChange(existing.persisted, liked));
+        }
+        return true;
+    }
+
+    private LikeBitmap bitmap(Long articleId) {
+        LikeBitmap bitmap = bitmaps.getIfPresent(articleId);
+        if (bitmap != null) {
+            return bitmap;
+        }
+        // 在 computeIfAbsent 之外查库，避免阻塞同一分段上的其他文章
+        LikeBitmap loaded = new LikeBitmap();
+        for (Long userId : articleLikeMapper.selectUserIdsByArticleId(articleId)) {
+            loaded.add(userId);
+        }
+        // 位图曾被淘汰时，数据库还不包含未落库的变更
+        overlay(loaded, articleId, inflight);
+        overlay(loaded, articleId, pending);
+        LikeBitmap existing = bitmaps.asMap().putIfAbsent(articleId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private static void overlay(LikeBitmap bitmap, Long articleId, Map<LikeKey, PendingChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        changes.forEach((key, change) -> {
+            if (key.articleId == articleId) {
+                if (change.current) {
+                    bitmap.add(key.userId);
+                } else {
+                    bitmap.remove(key.userId);
+                }
+            }
+        });
+    }
+
+    // ---------------------------------------------------------------- 批量落库
+
+    void flush() {
+        Map<LikeKey, PendingChange> drained = new HashMap<>();
+        for (LikeKey key : pending.keySet()) {
+            PendingChange change = pending.remove(key);
+            if (change == null) {
+                continue;
+            }
+            drained.put(key, change);
+            if (drained.size() >= batchSize) {
+                writeBatch(drained);
+                drained = new HashMap<>();
+            }
+        }
+        if (!drained.isEmpty()) {
+            writeBatch(drained);
+        }
+    }
+
+    private void writeBatch(Map<LikeKey, PendingChange> drained) {
+        List<ArticleLike> inserts = new ArrayList<>();
+        List<ArticleLike> deletes = new ArrayList<>();
+        Set<Long> touched = new HashSet<>();
+        drained.forEach((key, change) -> {
+            if (change.current == change.persisted) {
+                // 点赞后又取消（或反之），数据库无需变更
+                return;
+            }
+            ArticleLike like = new ArticleLike();
+            like.setArticleId(key.articleId);
+            like.setUserId(key.userId);
+            (change.current ? inserts : deletes).add(like);
+            touched.add(key.articleId);
+        });
+        if (inserts.isEmpty() && deletes.isEmpty()) {
+            return;
+        }
+
+        inflight.putAll(drained);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!inserts.isEmpty()) {
+                    articleLikeMapper.batchInsertIgnore(inserts);
+                }
+                if (!deletes.isEmpty()) {
+                    articleLikeMapper.batchDelete(deletes);
+                }
+                // 不按内存中的增量调整：其他实例或淘汰后重新加载的位图可能已写入同一条记录
+                articleMapper.recountLikeCount(touched);
+            });
+        } catch (Exception e) {
+            // 放回待落库队列；期间又有新变更时保留最早的落库前状态和最新的当前状态
+            drained.forEach((key, change) -> pending.merge(key, change,
+                    (newer, older) -> new PendingChange(older.persisted, newer.current)));
+            log.error("批量保存点赞失败，{}条变更将在下次重试", drained.size(), e);
+        } finally {
+            drained.keySet().forEach(inflight::remove);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("刷新点赞缓冲失败", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        if (!flusher.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("点赞刷新线程未能按时结束");
+        }
+        flush();
+        log.info("点赞缓冲已刷新，剩余未落库变更：{}", pending.size());
+    }
+
+    private static final class LikeKey {
+
+        private final long articleId;
+
+        private final long userId;
+
+        LikeKey(long articleId, long userId) {
+            this.articleId = articleId;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LikeKey)) {
+                return false;
+            }
+            LikeKey other = (LikeKey) o;
+            return articleId == other.articleId && userId == other.userId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(articleId, userId);
+        }
+    }
+
+    private static final class PendingChange {
+
+        /**
+         * 数据库中的状态（首次变更前）
+         */
+        private final boolean persisted;
+
+        /**
+         * 内存中的最新状态
+         */
+        private final boolean current;
+
+        PendingChange(boolean persisted, boolean current) {
+            this.persisted = persisted;
+            this.current = current;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.blog.like;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 压缩位图（Roaring 结构）
+ * <p>
+ * 按高48位分桶，桶内元素少于 4096 个时用有序 char 数组存放，超过后转为 8KB 的位图，
+ * 点赞用户少的文章只占几十字节，热门文章也不会超过每桶 8KB。元素为 64 位，覆盖全部用户ID。
+ * 非线程安全，由调用方加锁。
+ *
+ * @author blog
+ */
+public class LikeBitmap {
+
+    /**
+     * 数组容器转为位图容器的阈值
+     */
+    private static final int ARRAY_MAX_SIZE = 4096;
+
+    private final Map<Long, Container> containers = new HashMap<>();
+
+    private int cardinality;
+
+    /**
+     * 加入元素
+     *
+     * @return 元素原先不存在时返回 true
+     */
+    public boolean add(long value) {
+        long high = value >>> 16;
+        Container container = containers.get(high);
+        if (container == null) {
+            container = new ArrayContainer();
+            containers.put(high, container);
+        }
+        if (!container.add((char) value)) {
+            return false;
+        }
+        if (container instanceof ArrayContainer && container.size() > ARRAY_MAX_SIZE) {
+            containers.put(high, ((ArrayContainer) container).toBitmap());
+        }
+        cardinality++;
+        return true;
+    }
+
+    /**
+     * 移除元素
+     *
+     * @return 元素原先存在时返回 true
+     */
+    public boolean remove(long value) {
+        long high = value >>> 16;
+        Container container = containers.get(high);
+        if (container == null || !container.remove((char) value)) {
+            return false;
+        }
+        if (container.size() == 0) {
+            containers.remove(high);
+        } else if (container instanceof BitmapContainer && container.size() <= ARRAY_MAX_SIZE) {
+            containers.put(high, ((BitmapContainer) container).toArray());
+        }
+        cardinality--;
+        return true;
+    }
+
+    public boolean contains(long value) {
+        Container container = containers.get(value >>> 16);
+        return container != null && container.contains((char) value);
+    }
+
+    public int getCardinality() {
+        return cardinality;
+    }
+
+    private interface Container {
+
+        boolean add(char value);
+
+        boolean remove(char value);
+
+        boolean contains(char value);
+
+        int size();
+    }
+
+    /**
+     * 有序数组容器
+     */
+    private static final class ArrayContainer implements Container {
+
+        private char[] values = new char[4];
+
+        private int size;
+
+        @Override
+        public boolean add(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                return false;
+            }
+            int insertAt = -index - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(size * 2, ARRAY_MAX_SIZE + 1));
+            }
+            System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+            values[insertAt] = value;
+            size++;
+            return true;
+        }
+
+        @Override
+        public boolean remove(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < size; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    /**
+     * 定长位图容器，覆盖低16位的全部 65536 个值
+     */
+    private static final class BitmapContainer implements Container {
+
+        private final long[] words = new long[1024];
+
+        private int size;
+
+        @Override
+        public boolean add(char value) {
+            long mask = 1L << value;
+            int index = value >>> 6;
+            if ((words[index] & mask) != 0) {
+                return false;
+            }
+            words[index] |= mask;
+            size++;
+            return true;
+        }
+
+        @Override
+        public boolean remove(char value) {
+            long mask = 1L << value;
+            int index = value >>> 6;
+            if ((words[index] & mask) == 0) {
+                return false;
+            }
+            words[index] &= ~mask;
+            size--;
+            return true;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        ArrayContainer toArray() {
+            ArrayContainer array = new ArrayContainer();
+            array.values = new char[Math.max(size, 4)];
+            for (int index = 0; index < words.length; index++) {
+                long word = words[index];
+                while (word != 0) {
+                    int bit = Long.numberOfTrailingZeros(word);
+                    array.values[array.size++] = (char) ((index << 6) + bit);
+                    word &= word - 1;
+                }
+            }
+            return array;
+        }
+    }
+}
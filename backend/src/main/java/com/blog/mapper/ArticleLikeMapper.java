@@ -0,0 +1,32 @@
+package com.blog.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.blog.entity.ArticleLike;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 文章点赞Mapper接口
+ * 
+ * @author blog
+ */
+@Mapper
+public interface ArticleLikeMapper extends BaseMapper<ArticleLike> {
+
+    /**
+     * 查询文章的全部点赞用户ID
+     */
+    List<Long> selectUserIdsByArticleId(@Param("articleId") Long articleId);
+
+    /**
+     * 批量插入点赞记录，已存在的记录忽略
+     */
+    int batchInsertIgnore(@Param("likes") List<ArticleLike> likes);
+
+    /**
+     * 批量删除点赞记录
+     */
+    int batchDelete(@Param("likes") List<ArticleLike> likes);
+}
@@ -3,9 +3,18 @@ package com.blog.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.blog.dto.ArticleCursor;
+import com.blog.dto.ArticleSummaryDto;
 import com.blog.entity.Article;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 文章Mapper接口
@@ -16,16 +25,139 @@ import org.apache.ibatis.annotations.Param;
 public interface ArticleMapper extends BaseMapper<Article> {
 
     /**
-     * 分页查询文章列表（包含分类和作者信息）
+     * 分页查询文章摘要列表（包含分类和作者信息，不加载正文）
+     *
+     * @param includeContent 关键词是否同时匹配正文
+     */
+    IPage<ArticleSummaryDto> selectSummaryPage(Page<ArticleSummaryDto> page, @Param("categoryId") Long categoryId,
+                                               @Param("status") String status, @Param("keyword") String keyword,
+                                               @Param("includeContent") boolean includeContent);
+
+    /**
+     * 游标分页查询文章摘要列表，按 (is_top, publish_time, create_time, id) 倒序从游标之后开始读取
+     *
+     * @param cursor         上一页最后一行的排序键，为空时从第一行开始
+     * @param includeContent 关键词是否同时匹配正文
+     */
+    List<ArticleSummaryDto> selectSummarySeekPage(@Param("categoryId") Long categoryId, @Param("status") String status,
+                                                  @Param("keyword") String keyword, @Param("includeContent") boolean includeContent,
+                                                  @Param("cursor") ArticleCursor cursor, @Param("limit") int limit);
+
+    /**
+     * 按累计阅读量查询热门文章摘要，分类为空时查询全站
+     */
+    List<ArticleSummaryDto> selectHotSummaries(@Param("categoryId") Long categoryId, @Param("limit") int limit);
+
+    /**
+     * 查询推荐文章摘要
+     */
+    List<ArticleSummaryDto> selectRecommendSummaries(@Param("limit") int limit);
+
+    /**
+     * 按ID批量查询文章摘要（返回顺序不保证与入参一致）
+     */
+    List<ArticleSummaryDto> selectSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 查询文章元数据（ID、分类、状态、更新时间），不含正文
+     */
+    Article selectMetaById(@Param("id") Long id);
+
+    /**
+     * 按列表顺序流式读取全部已发布文章的摘要，逐行回调，用于静态站点导出
+     */
+    void streamPublishedSummaries(ResultHandler<ArticleSummaryDto> handler);
+
+    /**
+     * 按ID顺序流式读取已发布文章的站点地图字段（id、updateTime）
+     */
+    void streamSitemapEntries(ResultHandler<Article> handler);
+
+    /**
+     * 按发布时间倒序流式读取最新的已发布文章元数据，用于 RSS，不含正文
+     */
+    void streamFeedEntries(@Param("limit") int limit, ResultHandler<ArticleSummaryDto> handler);
+
+    /**
+     * 按ID顺序查询 afterId 之后的一批文章ID（不限状态），用于全量备份分块
+     */
+    List<Long> selectIdsAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    /**
+     * 以游标逐行读取ID在 (fromId, toId] 内的全部文章（含正文），按ID升序；需要在事务中使用
+     */
+    Cursor<Article> selectBackupCursor(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * 按ID顺序分批查询需要（重新）渲染的文章：从未渲染或渲染规则版本过旧
+     */
+    List<Article> selectStaleRenders(@Param("afterId") Long afterId, @Param("renderVersion") int renderVersion,
+                                     @Param("limit") int limit);
+
+    /**
+     * 保存渲染结果；正文在渲染期间被修改（哈希不一致）时不更新
+     */
+    int updateRendered(@Param("article") Article article);
+
+    /**
+     * 多行插入文章（单条INSERT），回填自增ID
+     */
+    int batchInsert(@Param("articles") List<Article> articles);
+
+    /**
+     * 按ID顺序分批查询已发布文章的索引字段
+     */
+    List<Article> selectPublishedForIndex(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    /**
+     * 查询指定时间之后更新过的已发布文章的索引字段
+     */
+    List<Article> selectPublishedUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * 按ID顺序分批查询已发布文章的发布时间（标签索引加载用）
+     */
+    List<Article> selectPublishTimes(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    /**
+     * 按ID查询文章的状态和发布时间，不限状态
+     */
+    List<Article> selectPublishTimesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 按标签查询已发布文章ID，按发布时间降序分页（标签索引未就绪时使用）
+     *
+     * @param matchAll true 表示须包含全部标签，此时 tagCount 为去重后的标签数
+     */
+    List<Long> selectIdsByTags(@Param("tagIds") Collection<Long> tagIds, @Param("matchAll") boolean matchAll,
+                               @Param("tagCount") int tagCount, @Param("offset") long offset, @Param("limit") int limit);
+
+    /**
+     * 统计带有指定标签的已发布文章数
      */
-    IPage<Article> selectArticlePage(Page<Article> page, @Param("categoryId") Long categoryId, 
-                                   @Param("status") String status, @Param("keyword") String keyword);
+    long countByTags(@Param("tagIds") Collection<Long> tagIds, @Param("matchAll") boolean matchAll,
+                     @Param("tagCount") int tagCount);
+
+    /**
+     * 查询全部已发布文章的ID
+     */
+    List<Long> selectPublishedIds();
 
     /**
      * 增加文章阅读量
      */
     int incrementViewCount(@Param("id") Long id);
 
+    /**
+     * 批量增加文章阅读量（key为文章ID，value为增量）
+     */
+    int batchIncrementViewCount(@Param("deltas") Map<Long, Long> deltas);
+
+    /**
+     * 按 article_likes 的实际行数重新计算文章点赞数
+     */
+    int recountLikeCount(@Param("ids") Collection<Long> ids);
+
     /**
      * 增加文章点赞数
      */
@@ -45,4 +177,22 @@ public interface ArticleMapper extends BaseMapper<Article> {
      * 减少文章评论数
      */
     int decrementCommentCount(@Param("id") Long id);
-}
\ No newline at end of file
+
+    /**
+     * 批量调整文章评论数（key为文章ID，value为增量，可为负），结果不小于0
+     */
+    int batchAdjustCommentCount(@Param("deltas") Map<Long, Long> deltas);
+
+    /**
+     * 按ID顺序分批查询文章的评论数，只返回 id 和 commentCount
+     */
+    List<Article> selectCommentCountPage(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    /**
+     * 批量校正文章评论数；只更新评论数仍等于 expected 中读取值的文章，期间被并发修改的跳过
+     *
+     * @param counts   文章ID到正确评论数
+     * @param expected 文章ID到校正前读取的评论数
+     */
+    int batchSetCommentCount(@Param("counts") Map<Long, Long> counts, @Param("expected") Map<Long, Long> expected);
+}
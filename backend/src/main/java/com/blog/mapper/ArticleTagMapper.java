@@ -0,0 +1,48 @@
+package com.blog.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.blog.entity.ArticleTag;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 文章标签关联Mapper接口
+ * 
+ * @author blog
+ */
+@Mapper
+public interface ArticleTagMapper extends BaseMapper<ArticleTag> {
+
+    /**
+     * 查询文章的标签ID
+     */
+    List<Long> selectTagIdsByArticleId(@Param("articleId") Long articleId);
+
+    /**
+     * 查询使用某个标签的文章ID
+     */
+    List<Long> selectArticleIdsByTagId(@Param("tagId") Long tagId);
+
+    /**
+     * 批量查询多篇文章的标签关联
+     */
+    List<ArticleTag> selectByArticleIds(@Param("articleIds") Collection<Long> articleIds);
+
+    /**
+     * 批量插入文章标签关联，已存在的关联忽略
+     */
+    int batchInsertIgnore(@Param("links") List<ArticleTag> links);
+
+    /**
+     * 删除文章的指定标签关联
+     */
+    int deleteByArticleIdAndTagIds(@Param("articleId") Long articleId, @Param("tagIds") Collection<Long> tagIds);
+
+    /**
+     * 删除文章的全部标签关联
+     */
+    int deleteByArticleId(@Param("articleId") Long articleId);
+}
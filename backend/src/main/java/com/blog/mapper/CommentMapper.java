@@ -0,0 +1,66 @@
+package com.blog.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.blog.dto.ArticleCommentStat;
+import com.blog.dto.CommentDto;
+import com.blog.entity.Comment;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 评论Mapper接口
+ * 
+ * @author blog
+ */
+@Mapper
+public interface CommentMapper extends BaseMapper<Comment> {
+
+    /**
+     * 按ID倒序分页查询文章的根评论（键集分页）
+     *
+     * @param beforeId 上一页最后一条根评论ID，为空时从最新的开始
+     */
+    List<CommentDto> selectRootPage(@Param("articleId") Long articleId, @Param("beforeId") Long beforeId,
+                                    @Param("limit") int limit);
+
+    /**
+     * 查询多个根评论下的回复，每个根评论最多返回最早的 perRoot 条，按根评论和ID升序
+     */
+    List<CommentDto> selectRepliesByRootIds(@Param("rootIds") Collection<Long> rootIds, @Param("perRoot") int perRoot);
+
+    /**
+     * 统计多个根评论的回复数，结果中只有 rootId 和 replyCount
+     */
+    List<CommentDto> countRepliesByRootIds(@Param("rootIds") Collection<Long> rootIds);
+
+    /**
+     * 按ID升序分页查询根评论下的回复（键集分页）
+     *
+     * @param afterId 上一页最后一条回复ID，为空时从最早的开始
+     */
+    List<CommentDto> selectReplyPage(@Param("rootId") Long rootId, @Param("afterId") Long afterId,
+                                     @Param("limit") int limit);
+
+    /**
+     * 逻辑删除评论；删除根评论时连同其全部回复
+     *
+     * @return 实际删除的评论数
+     */
+    int deleteWithReplies(@Param("id") Long id);
+
+    /**
+     * 统计多篇文章的实际评论数，并标记 quietSeconds 秒内有评论变化的文章；没有任何评论的文章不返回
+     */
+    List<ArticleCommentStat> selectCommentStats(@Param("articleIds") Collection<Long> articleIds,
+                                                @Param("quietSeconds") long quietSeconds);
+
+    /**
+     * 以游标逐行读取文章ID在 (fromArticleId, toArticleId] 内的未删除评论，按文章ID和评论ID升序；需要在事务中使用
+     */
+    Cursor<Comment> selectBackupCursor(@Param("fromArticleId") Long fromArticleId,
+                                       @Param("toArticleId") Long toArticleId);
+}
@@ -3,6 +3,8 @@ package com.blog.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.blog.entity.User;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 /**
  * 用户Mapper接口
@@ -11,4 +13,20 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface UserMapper extends BaseMapper<User> {
-}
\ No newline at end of file
+
+    /**
+     * 替换密码哈希，仅当库中仍为 oldHash 时生效（用于登录后升级哈希，不覆盖并发的密码修改）
+     */
+    int updatePasswordIfUnchanged(@Param("id") Long id, @Param("oldHash") String oldHash,
+                                  @Param("newHash") String newHash);
+
+    /**
+     * 统计全部用户数（包括已逻辑删除的）
+     */
+    long countAll();
+
+    /**
+     * 流式读取全部用户（包括已逻辑删除的）的用户名和邮箱
+     */
+    void streamIdentities(ResultHandler<User> handler);
+}
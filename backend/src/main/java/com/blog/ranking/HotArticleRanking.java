@@ -0,0 +1,420 @@
+package com.blog.ranking;
+
+import com.blog.dto.ArticleSummaryDto;
+import com.blog.mapper.ArticleMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 热门文章排行
+ * <p>
+ * 阅读、点赞、评论事件按权重累加到文章热度上，热度按半衰期指数衰减。为避免逐篇衰减，
+ * 事件权重按 e^(λ(t - t0)) 放大后累加（前向衰减），排序结果与实时衰减等价；指数过大时整体换基。
+ * 后台线程定期用大小为 K 的小顶堆选出全站及各分类的前 K 篇并加载摘要，读取时只复制这份快照。
+ * 热度定期写入本地检查点文件，重启后不会清空趋势。
+ *
+ * @author blog
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotArticleRanking {
+
+    private static final int FILE_MAGIC = 0x424C484F;
+
+    /**
+     * 放大指数超过该值时换基，防止溢出
+     */
+    private static final double MAX_EXPONENT = 50;
+
+    /**
+     * 衰减后低于该值的条目会被清理
+     */
+    private static final double MIN_SCORE = 0.01;
+
+    private final ArticleMapper articleMapper;
+
+    @Value("${blog.hot-ranking.half-life-hours:24}")
+    private double halfLifeHours;
+
+    @Value("${blog.hot-ranking.top-k:100}")
+    private int topK;
+
+    @Value("${blog.hot-ranking.view-weight:1}")
+    private double viewWeight;
+
+    @Value("${blog.hot-ranking.like-weight:5}")
+    private double likeWeight;
+
+    @Value("${blog.hot-ranking.comment-weight:10}")
+    private double commentWeight;
+
+    @Value("${blog.hot-ranking.refresh-interval-seconds:30}")
+    private long refreshIntervalSeconds;
+
+    @Value("${blog.hot-ranking.checkpoint-file:data/hot-ranking.bin}")
+    private String checkpointFile;
+
+    @Value("${blog.hot-ranking.checkpoint-interval-seconds:60}")
+    private long checkpointIntervalSeconds;
+
+    private final Map<Long, ScoreEntry> scores = new ConcurrentHashMap<>();
+
+    /**
+     * 记录事件时持读锁，换基时持写锁
+     */
+    private final ReadWriteLock rebaseLock = new ReentrantReadWriteLock();
+
+    private volatile long baseTime = System.currentTimeMillis();
+
+    private double lambda;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    private ScheduledExecutorService worker;
+
+    @PostConstruct
+    public void init() {
+        lambda = Math.log(2) / (halfLifeHours * 3_600_000L);
+        loadCheckpoint();
+
+        worker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "hot-ranking");
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker.scheduleWithFixedDelay(this::refreshQuietly, 0, refreshIntervalSeconds, TimeUnit.SECONDS);
+        worker.scheduleWithFixedDelay(this::checkpointQuietly, checkpointIntervalSeconds, checkpointIntervalSeconds,
+                TimeUnit.SECONDS);
+    }
+
+    public void recordViews(Long articleId, Long categoryId, long views) {
+        record(articleId, categoryId, viewWeight * views);
+    }
+
+    public void recordLike(Long articleId, Long categoryId, boolean liked) {
+        record(articleId, categoryId, liked ? likeWeight : -likeWeight);
+    }
+
+    public void recordComment(Long articleId, Long categoryId, boolean added) {
+        record(articleId, categoryId, added ? commentWeight : -commentWeight);
+    }
+
+    /**
+     * 移除文章（删除或撤回发布时调用）
+     */
+    public void remove(Long articleId) {
+        scores.remove(articleId);
+    }
+
+    /**
+     * 获取热门文章，分类为空时返回全站排行；返回的是快照副本
+     *
+     * @return 快照中不足 limit 篇时返回的数量也会不足
+     */
+    public List<ArticleSummaryDto> getTop(int limit, Long categoryId) {
+        Snapshot current = snapshot;
+        List<ArticleSummaryDto> source = categoryId == null
+                ? current.global
+                : current.byCategory.getOrDefault(categoryId, Collections.emptyList());
+        int size = Math.max(0, Math.min(limit, source.size()));
+        List<ArticleSummaryDto> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ArticleSummaryDto copy = new ArticleSummaryDto();
+            BeanUtils.copyProperties(source.get(i), copy);
+            result.add(copy);
+        }
+        return result;
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    /**
+     * 当前排行快照的版本，排行顺序不变时版本不变（用作 ETag）
+     */
+    public long getVersion() {
+        return snapshot.version;
+    }
+
+    private void record(Long articleId, Long categoryId, double weight) {
+        rebaseLock.readLock().lock();
+        try {
+            double scaled = weight * Math.exp(lambda * (System.currentTimeMillis() - baseTime));
+            scores.compute(articleId, (id, entry) -> {
+                if (entry == null) {
+                    entry = new ScoreEntry();
+                }
+                entry.score = Math.max(0, entry.score + scaled);
+                if (categoryId != null) {
+                    entry.categoryId = categoryId;
+                }
+                return entry;
+            });
+        } finally {
+            rebaseLock.readLock().unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------- 刷新排行
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.error("刷新热门文章排行失败", e);
+        }
+    }
+
+    private void refresh() {
+        long now = System.currentTimeMillis();
+        if (lambda * (now - baseTime) > MAX_EXPONENT) {
+            rebase(now);
+        }
+
+        // 清理已衰减殆尽的条目
+        double threshold = MIN_SCORE * Math.exp(lambda * (now - baseTime));
+        scores.values().removeIf(entry -> entry.score < threshold);
+
+        PriorityQueue<Candidate> global = new PriorityQueue<>();
+        Map<Long, PriorityQueue<Candidate>> byCategory = new HashMap<>();
+        scores.forEach((id, entry) -> {
+            Candidate candidate = new Candidate(id, entry.score);
+            offer(global, candidate);
+            if (entry.categoryId != null) {
+                offer(byCategory.computeIfAbsent(entry.categoryId, c -> new PriorityQueue<>()), candidate);
+            }
+        });
+
+        Set<Long> ids = new HashSet<>();
+        global.forEach(c -> ids.add(c.id));
+        byCategory.values().forEach(heap -> heap.forEach(c -> ids.add(c.id)));
+
+        Map<Long, ArticleSummaryDto> summaries = ids.isEmpty()
+                ? Collections.emptyMap()
+                : articleMapper.selectSummariesByIds(ids).stream()
+                        .filter(summary -> "PUBLISHED".equals(summary.getStatus()))
+                        .collect(Collectors.toMap(ArticleSummaryDto::getId, Function.identity()));
+
+        Map<Long, List<ArticleSummaryDto>> categoryTops = new HashMap<>();
+        byCategory.forEach((categoryId, heap) -> categoryTops.put(categoryId, toSortedList(heap, summaries)));
+        snapshot = new Snapshot(toSortedList(global, summaries), categoryTops);
+    }
+
+    private void offer(PriorityQueue<Candidate> heap, Candidate candidate) {
+        if (heap.size() < topK) {
+            heap.add(candidate);
+        } else if (heap.peek().score < candidate.score) {
+            heap.poll();
+            heap.add(candidate);
+        }
+    }
+
+    private static List<ArticleSummaryDto> toSortedList(PriorityQueue<Candidate> heap, Map<Long, ArticleSummaryDto> summaries) {
+        List<Candidate> candidates = new ArrayList<>(heap);
+        candidates.sort(Collections.reverseOrder());
+        List<ArticleSummaryDto> result = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            ArticleSummaryDto summary = summaries.get(candidate.id);
+            if (summary != null) {
+                result.add(summary);
+            }
+        }
+        return result;
+    }
+
+    private void rebase(long now) {
+        rebaseLock.writeLock().lock();
+        try {
+            double factor = Math.exp(-lambda * (now - baseTime));
+            scores.values().forEach(entry -> entry.score *= factor);
+            baseTime = now;
+        } finally {
+            rebaseLock.writeLock().unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------- 检查点
+
+    private void checkpointQuietly() {
+        try {
+            checkpoint();
+        } catch (Exception e) {
+            log.error("保存热门文章排行检查点失败", e);
+        }
+    }
+
+    /**
+     * 只在锁内复制快照，写文件时不阻塞事件记录
+     */
+    private void checkpoint() throws IOException {
+        long savedBaseTime;
+        int count;
+        long[] ids;
+        long[] categoryIds;
+        double[] values;
+        rebaseLock.writeLock().lock();
+        try {
+            savedBaseTime = baseTime;
+            ids = new long[scores.size()];
+            categoryIds = new long[ids.length];
+            values = new double[ids.length];
+            count = 0;
+            for (Map.Entry<Long, ScoreEntry> entry : scores.entrySet()) {
+                if (count == ids.length) {
+                    break;
+                }
+                ids[count] = entry.getKey();
+                categoryIds[count] = entry.getValue().categoryId == null ? -1L : entry.getValue().categoryId;
+                values[count] = entry.getValue().score;
+                count++;
+            }
+        } finally {
+            rebaseLock.writeLock().unlock();
+        }
+
+        Path path = Paths.get(checkpointFile).toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeLong(savedBaseTime);
+            out.writeInt(count);
+            for (int i = 0; i < count; i++) {
+                out.writeLong(ids[i]);
+                out.writeLong(categoryIds[i]);
+                out.writeDouble(values[i]);
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void loadCheckpoint() {
+        Path path = Paths.get(checkpointFile);
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != FILE_MAGIC) {
+                log.warn("热门文章排行检查点格式不匹配，已忽略");
+                return;
+            }
+            baseTime = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                ScoreEntry entry = new ScoreEntry();
+                long id = in.readLong();
+                long categoryId = in.readLong();
+                entry.categoryId = categoryId < 0 ? null : categoryId;
+                entry.score = in.readDouble();
+                scores.put(id, entry);
+            }
+            log.info("已加载热门文章排行检查点，文章数：{}", count);
+        } catch (IOException e) {
+            log.warn("读取热门文章排行检查点失败，排行将从零开始", e);
+            scores.clear();
+            baseTime = System.currentTimeMillis();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        worker.shutdown();
+        worker.awaitTermination(10, TimeUnit.SECONDS);
+        checkpointQuietly();
+    }
+
+    private static final class ScoreEntry {
+
+        /**
+         * 以 baseTime 为基准放大后的热度
+         */
+        private double score;
+
+        private Long categoryId;
+    }
+
+    private static final class Candidate implements Comparable<Candidate> {
+
+        private final long id;
+
+        private final double score;
+
+        Candidate(long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            return Double.compare(score, other.score);
+        }
+    }
+
+    private static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(Collections.emptyList(), Collections.emptyMap());
+
+        private final List<ArticleSummaryDto> global;
+
+        private final Map<Long, List<ArticleSummaryDto>> byCategory;
+
+        /**
+         * 由各排行的文章ID顺序计算
+         */
+        private final long version;
+
+        Snapshot(List<ArticleSummaryDto> global, Map<Long, List<ArticleSummaryDto>> byCategory) {
+            this.global = global;
+            this.byCategory = byCategory;
+            this.version = computeVersion(global, byCategory);
+        }
+
+        private static long computeVersion(List<ArticleSummaryDto> global, Map<Long, List<ArticleSummaryDto>> byCategory) {
+            long hash = 1;
+            for (ArticleSummaryDto summary : global) {
+                hash = 31 * hash + summary.getId();
+            }
+            for (Map.Entry<Long, List<ArticleSummaryDto>> entry : new TreeMap<>(byCategory).entrySet()) {
+                hash = 31 * hash + entry.getKey();
+                for (ArticleSummaryDto summary : entry.getValue()) {
+                    hash = 31 * hash + summary.getId();
+                }
+            }
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.blog.render;
+
+import com.blog.cache.ArticleDetailCache;
+import com.blog.entity.Article;
+import com.blog.mapper.ArticleMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 文章批量渲染任务
+ * <p>
+ * 启动后在后台按ID分批找出从未渲染或渲染规则版本过旧的文章，每批在专用的 ForkJoinPool 上
+ * 按 CPU 核数并行渲染后逐条保存。保存时校验正文哈希，渲染期间被编辑的文章会被跳过（编辑时已重新渲染）。
+ *
+ * @author blog
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleRenderJob {
+
+    private final ArticleMapper articleMapper;
+    private final MarkdownRenderer markdownRenderer;
+    private final ArticleDetailCache articleDetailCache;
+
+    @Value("${blog.render.batch-size:100}")
+    private int batchSize;
+
+    /**
+     * 渲染并行度，0 表示使用 CPU 核数
+     */
+    @Value("${blog.render.parallelism:0}")
+    private int parallelism;
+
+    private ForkJoinPool renderPool;
+
+    private ExecutorService runner;
+
+    @PostConstruct
+    public void init() {
+        renderPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        runner = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "article-render");
+            thread.setDaemon(true);
+            return thread;
+        });
+        runner.execute(() -> {
+            try {
+                rerenderStale();
+            } catch (Exception e) {
+                log.error("批量渲染文章失败", e);
+            }
+        });
+    }
+
+    /**
+     * 重新渲染所有需要渲染的文章
+     *
+     * @return 实际更新的文章数
+     */
+    public int rerenderStale() {
+        long startTime = System.currentTimeMillis();
+        long afterId = 0;
+        int updated = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Article> batch = articleMapper.selectStaleRenders(afterId, MarkdownRenderer.RENDER_VERSION, batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+
+            List<Article> rendered = renderPool.submit(() -> batch.parallelStream().map(this::render).toList()).join();
+            for (Article article : rendered) {
+                if (articleMapper.updateRendered(article) > 0) {
+                    articleDetailCache.evict(article.getId());
+                    updated++;
+                }
+            }
+        }
+        if (updated > 0) {
+            log.info("批量渲染文章完成，更新{}篇，耗时{}ms", updated, System.currentTimeMillis() - startTime);
+        }
+        return updated;
+    }
+
+    private Article render(Article source) {
+        Article article = new Article();
+        article.setId(source.getId());
+        markdownRenderer.render(source.getContent()).applyTo(article);
+        return article;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+        renderPool.shutdownNow();
+    }
+}
@@ -0,0 +1,268 @@
+package com.blog.render;
+
+import org.commonmark.Extension;
+import org.commonmark.ext.gfm.strikethrough.StrikethroughExtension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.node.AbstractVisitor;
+import org.commonmark.node.Code;
+import org.commonmark.node.Heading;
+import org.commonmark.node.Node;
+import org.commonmark.node.Text;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.safety.Safelist;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Markdown 渲染器
+ * <p>
+ * 将正文渲染为 HTML 并用白名单清洗，同时为标题生成锚点、目录和预计阅读时长。
+ * Parser 线程安全，HtmlRenderer 按文档创建（需要携带该文档的标题锚点），可并发调用。
+ *
+ * @author blog
+ */
+@Component
+public class MarkdownRenderer {
+
+    /**
+     * 渲染规则版本；修改渲染或清洗规则后递增，已有文章会在启动时重新渲染
+     */
+    public static final int RENDER_VERSION = 1;
+
+    /**
+     * 中文每分钟阅读字数
+     */
+    private static final int CJK_CHARS_PER_MINUTE = 300;
+
+    /**
+     * 英文每分钟阅读词数
+     */
+    private static final int WORDS_PER_MINUTE = 200;
+
+    private static final int TOC_MAX_LEVEL = 3;
+
+    private static final List<Extension> EXTENSIONS = List.of(
+            TablesExtension.create(),
+            StrikethroughExtension.create()
+    );
+
+    private static final Safelist SAFELIST = Safelist.relaxed()
+            .addTags("hr", "del", "s")
+            .addAttributes(":all", "id")
+            .addAttributes("code", "class")
+            .addAttributes("th", "align")
+            .addAttributes("td", "align")
+            .preserveRelativeLinks(true);
+
+    /**
+     * 清洗时用于解析相对链接的基准地址；相对链接按原样保留
+     */
+    private static final String SANITIZE_BASE_URI = "http://localhost/";
+
+    private static final Document.OutputSettings OUTPUT_SETTINGS = new Document.OutputSettings().prettyPrint(false);
+
+    private final Parser parser = Parser.builder().extensions(EXTENSIONS).build();
+
+    /**
+     * 渲染正文
+     */
+    public RenderedContent render(String markdown) {
+        String source = markdown == null ? "" : markdown;
+        Node document = parser.parse(source);
+
+        // 为标题分配锚点，渲染时通过 AttributeProvider 写入 id
+        HeadingCollector headings = new HeadingCollector();
+        document.accept(headings);
+
+        HtmlRenderer renderer = HtmlRenderer.builder()
+                .extensions(EXTENSIONS)
+                .sanitizeUrls(true)
+                .attributeProviderFactory(context -> (node, tagName, attributes) -> {
+                    String anchor = headings.anchors.get(node);
+                    if (anchor != null) {
+                        attributes.put("id", anchor);
+                    }
+                })
+                .build();
+        String html = Jsoup.clean(renderer.render(document), SANITIZE_BASE_URI, SAFELIST, OUTPUT_SETTINGS);
+
+        return new RenderedContent(html, buildToc(headings.entries), readingTime(document), hash(source));
+    }
+
+    /**
+     * 计算正文哈希，与 MySQL SHA2(content, 256) 结果一致
+     */
+    public static String hash(String markdown) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            byte[] digest = sha.digest((markdown == null ? "" : markdown).getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String buildToc(List<TocEntry> entries) {
+        if (entries.isEmpty()) {
+            return "";
+        }
+        int baseLevel = entries.stream().mapToInt(entry -> entry.level).min().orElse(1);
+        StringBuilder toc = new StringBuilder("<ul>");
+        int depth = 0;
+        boolean open = false;
+        for (TocEntry entry : entries) {
+            // 只能在已打开的条目下嵌套一层，跳级的标题按下一层处理
+            int level = Math.min(entry.level - baseLevel, open ? depth + 1 : depth);
+            while (depth < level) {
+                toc.append("<ul>");
+                depth++;
+                open = false;
+            }
+            while (depth > level) {
+                toc.append("</li></ul>");
+                depth--;
+            }
+            if (open) {
+                toc.append("</li>");
+            }
+            toc.append("<li><a href=\"#").append(entry.anchor).append("\">")
+                    .append(HtmlUtils.htmlEscape(entry.text)).append("</a>");
+            open = true;
+        }
+        while (depth > 0) {
+            toc.append("</li></ul>");
+            depth--;
+        }
+        return toc.append("</li></ul>").toString();
+    }
+
+    private static int readingTime(Node document) {
+        TextCollector collector = new TextCollector(" ");
+        document.accept(collector);
+
+        int cjkChars = 0;
+        int words = 0;
+        boolean inWord = false;
+        String text = collector.text.toString();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.UnicodeScript.of(c) == Character.UnicodeScript.HAN) {
+                cjkChars++;
+                inWord = false;
+            } else if (Character.isLetterOrDigit(c)) {
+                if (!inWord) {
+                    words++;
+                    inWord = true;
+                }
+            } else {
+                inWord = false;
+            }
+        }
+        double minutes = (double) cjkChars / CJK_CHARS_PER_MINUTE + (double) words / WORDS_PER_MINUTE;
+        return Math.max(1, (int) Math.ceil(minutes));
+    }
+
+    private static final class TocEntry {
+
+        private final int level;
+
+        private final String text;
+
+        private final String anchor;
+
+        TocEntry(int level, String text, String anchor) {
+            this.level = level;
+            this.text = text;
+            this.anchor = anchor;
+        }
+    }
+
+    /**
+     * 收集标题，生成不重复的锚点
+     */
+    private static final class HeadingCollector extends AbstractVisitor {
+
+        private final Map<Node, String> anchors = new IdentityHashMap<>();
+
+        private final List<TocEntry> entries = new ArrayList<>();
+
+        private final Map<String, Integer> used = new HashMap<>();
+
+        @Override
+        public void visit(Heading heading) {
+            TextCollector collector = new TextCollector("");
+            heading.accept(collector);
+            String text = collector.text.toString().trim();
+
+            String anchor = slugify(text);
+            int seen = used.merge(anchor, 1, Integer::sum);
+            if (seen > 1) {
+                anchor = anchor + "-" + (seen - 1);
+            }
+            anchors.put(heading, anchor);
+            if (heading.getLevel() <= TOC_MAX_LEVEL) {
+                entries.add(new TocEntry(heading.getLevel(), text, anchor));
+            }
+        }
+
+        private static String slugify(String text) {
+            StringBuilder slug = new StringBuilder();
+            for (char c : text.toLowerCase(Locale.ROOT).toCharArray()) {
+                if (Character.isLetterOrDigit(c)) {
+                    slug.append(c);
+                } else if ((c == ' ' || c == '-' || c == '_') && slug.length() > 0 && slug.charAt(slug.length() - 1) != '-') {
+                    slug.append('-');
+                }
+            }
+            int end = slug.length();
+            while (end > 0 && slug.charAt(end - 1) == '-') {
+                end--;
+            }
+            return end == 0 ? "section" : slug.substring(0, end);
+        }
+    }
+
+    /**
+     * 收集节点下的纯文本
+     */
+    private static final class TextCollector extends AbstractVisitor {
+
+        private final StringBuilder text = new StringBuilder();
+
+        /**
+         * 文本节点之间的分隔符
+         */
+        private final String separator;
+
+        TextCollector(String separator) {
+            this.separator = separator;
+        }
+
+        @Override
+        public void visit(Text node) {
+            text.append(node.getLiteral()).append(separator);
+        }
+
+        @Override
+        public void visit(Code node) {
+            text.append(node.getLiteral()).append(separator);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.blog.render;
+
+import com.blog.entity.Article;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Markdown 渲染结果
+ *
+ * @author blog
+ */
+@Getter
+@AllArgsConstructor
+public class RenderedContent {
+
+    /**
+     * 清洗后的正文HTML，标题带有锚点 id
+     */
+    private final String html;
+
+    /**
+     * 目录HTML（嵌套列表），没有标题时为空字符串
+     */
+    private final String tocHtml;
+
+    /**
+     * 预计阅读时长（分钟），至少为 1
+     */
+    private final int readingTime;
+
+    /**
+     * 正文的 SHA-256（十六进制小写）
+     */
+    private final String contentHash;
+
+    /**
+     * 将渲染结果写入文章
+     */
+    public void applyTo(Article article) {
+        article.setContentHtml(html);
+        article.setTocHtml(tocHtml);
+        article.setReadingTime(readingTime);
+        article.setContentHash(contentHash);
+        article.setRenderVersion(MarkdownRenderer.RENDER_VERSION);
+    }
+}
@@ -0,0 +1,580 @@
+package com.blog.search;
+
+import com.blog.entity.Article;
+import com.blog.mapper.ArticleMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 已发布文章的内存倒排索引
+ * <p>
+ * 标题、摘要、正文按 3:2:1 加权计入词频，使用 BM25 打分，多个查询词之间为"与"关系。
+ * 索引定期写入本地文件，重启时先加载文件，再按 update_time 增量追平数据库；文件不存在时分批全量重建。
+ * 文章变更在事务提交后通过 Redis 频道通知其他实例，各实例在维护线程上从数据库重新索引。
+ * 重建完成前 {@link #isReady()} 为 false，调用方应回退到数据库查询。
+ * 中日韩文字按二元组索引，只含单字的查询无法由索引回答（{@link #supports}），同样回退到数据库。
+ *
+ * @author blog
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleSearchIndex {
+
+    private static final int FILE_MAGIC = 0x424C4958;
+
+    private static final int FILE_VERSION = 1;
+
+    private static final int TITLE_WEIGHT = 3;
+
+    private static final int SUMMARY_WEIGHT = 2;
+
+    private static final double K1 = 1.2;
+
+    private static final double B = 0.75;
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private static final String CHANGED_CHANNEL = "article:search-index:changed";
+
+    /**
+     * 索引游标的前缀，用于与数据库回退路径的游标区分
+     */
+    private static final String CURSOR_TAG = "s|";
+
+    private final ArticleMapper articleMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @Value("${blog.search.index-file:data/search-index.bin}")
+    private String indexFile;
+
+    @Value("${blog.search.save-interval-seconds:300}")
+    private long saveIntervalSeconds;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 词 -> (文章ID -> 加权词频)
+     */
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+
+    private final Map<Long, IndexedDoc> docs = new HashMap<>();
+
+    private long totalLength;
+
+    private volatile boolean ready;
+
+    private volatile boolean dirty;
+
+    private ScheduledExecutorService maintainer;
+
+    @PostConstruct
+    public void init() {
+        maintainer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "search-index-maintainer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintainer.execute(this::loadOrRebuild);
+        listenerContainer.addMessageListener((message, pattern) -> {
+            List<Long> ids = Arrays.stream(new String(message.getBody(), StandardCharsets.UTF_8).split(","))
+                    .map(Long::valueOf)
+                    .toList();
+            maintainer.execute(() -> ids.forEach(this::reindex));
+        }, new ChannelTopic(CHANGED_CHANNEL));
+        maintainer.scheduleWithFixedDelay(this::saveIfDirty, saveIntervalSeconds, saveIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 查询能否由索引回答：中日韩单字（一元词）只在文档恰好只有一个字时才被索引，不能用于匹配
+     */
+    public boolean supports(String query) {
+        for (String token : Tokenizer.tokenize(query)) {
+            if (Tokenizer.isCjkUnigram(token)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 游标是否由 {@link #searchAfter} 生成；数据库回退路径的游标返回 false
+     */
+    public static boolean isIndexCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return false;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).startsWith(CURSOR_TAG);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 文章发生变化后重新索引；处于事务中时在提交后执行
+     */
+    public void onArticleChanged(Long id) {
+        Runnable task = () -> {
+            maintainer.execute(() -> reindex(id));
+            notifyOthers(List.of(id));
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    /**
+     * 批量新建文章后直接加入索引，不再回查数据库
+     */
+    public void onArticlesCreated(List<Article> articles) {
+        List<Article> published = articles.stream().filter(article -> "PUBLISHED".equals(article.getStatus())).toList();
+        if (!published.isEmpty()) {
+            maintainer.execute(() -> published.forEach(this::add));
+            notifyOthers(published.stream().map(Article::getId).toList());
+        }
+    }
+
+    /**
+     * 通知其他实例重新索引；本实例收到自己的消息时会再查一次库，结果相同
+     */
+    private void notifyOthers(Collection<Long> ids) {
+        try {
+            stringRedisTemplate.convertAndSend(CHANGED_CHANNEL,
+                    ids.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        } catch (Exception e) {
+            log.warn("通知其他实例更新搜索索引失败", e);
+        }
+    }
+
+    /**
+     * 按偏移分页检索
+     */
+    public SearchHits search(String query, int offset, int limit) {
+        List<Hit> hits = rank(query);
+        int from = Math.min(offset, hits.size());
+        int to = Math.min(from + limit, hits.size());
+        return new SearchHits(hits.size(), ids(hits.subList(from, to)), null);
+    }
+
+    /**
+     * 按游标分页检索，游标为上一页最后一条结果的 (分数, ID)
+     */
+    public SearchHits searchAfter(String query, String cursor, int limit) {
+        List<Hit> hits = rank(query);
+        int from = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            Hit last = decodeCursor(cursor);
+            while (from < hits.size() && HIT_ORDER.compare(hits.get(from), last) <= 0) {
+                from++;
+            }
+        }
+        int to = Math.min(from + limit, hits.size());
+        String nextCursor = to < hits.size() ? encodeCursor(hits.get(to - 1)) : null;
+        return new SearchHits(hits.size(), ids(hits.subList(from, to)), nextCursor);
+    }
+
+    private List<Hit> rank(String query) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Integer>> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Long, Integer> list = postings.get(term);
+                if (list == null) {
+                    return Collections.emptyList();
+                }
+                lists.add(list);
+            }
+            // 从最短的倒排链开始求交集
+            lists.sort(Comparator.comparingInt(Map::size));
+
+            int docCount = docs.size();
+            double avgLength = docCount == 0 ? 1 : (double) totalLength / docCount;
+            double[] idf = new double[lists.size()];
+            for (int i = 0; i < lists.size(); i++) {
+                int df = lists.get(i).size();
+                idf[i] = Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+            }
+
+            List<Hit> hits = new ArrayList<>();
+            candidates:
+            for (Long id : lists.get(0).keySet()) {
+                double norm = K1 * (1 - B + B * docs.get(id).length / avgLength);
+                double score = 0;
+                for (int i = 0; i < lists.size(); i++) {
+                    Integer tf = lists.get(i).get(id);
+                    if (tf == null) {
+                        continue candidates;
+                    }
+                    score += idf[i] * tf * (K1 + 1) / (tf + norm);
+                }
+                hits.add(new Hit(id, score));
+            }
+            hits.sort(HIT_ORDER);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void reindex(Long id) {
+        try {
+            Article article = articleMapper.selectById(id);
+            if (article == null || !"PUBLISHED".equals(article.getStatus())) {
+                remove(id);
+            } else {
+                add(article);
+            }
+        } catch (Exception e) {
+            log.error("更新文章搜索索引失败：{}", id, e);
+        }
+    }
+
+    private void add(Article article) {
+        Map<String, Integer> termFreqs = new HashMap<>();
+        countTerms(article.getTitle(), TITLE_WEIGHT, termFreqs);
+        countTerms(article.getSummary(), SUMMARY_WEIGHT, termFreqs);
+        countTerms(article.getContent(), 1, termFreqs);
+        long version = toMillis(article.getUpdateTime());
+
+        lock.writeLock().lock();
+        try {
+            IndexedDoc existing = docs.get(article.getId());
+            if (existing != null && existing.version > version) {
+                // 已索引更新的版本（重建与增量更新交错时）
+                return;
+            }
+            removeLocked(article.getId());
+            putLocked(article.getId(), new IndexedDoc(version, termFreqs));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        dirty = true;
+    }
+
+    private void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        dirty = true;
+    }
+
+    private void putLocked(Long id, IndexedDoc doc) {
+        docs.put(id, doc);
+        totalLength += doc.length;
+        doc.termFreqs.forEach((term, tf) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, tf));
+    }
+
+    private void removeLocked(Long id) {
+        IndexedDoc doc = docs.remove(id);
+        if (doc == null) {
+            return;
+        }
+        totalLength -= doc.length;
+        for (String term : doc.termFreqs.keySet()) {
+            Map<Long, Integer> list = postings.get(term);
+            if (list != null) {
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void countTerms(String text, int weight, Map<String, Integer> termFreqs) {
+        for (String token : Tokenizer.tokenize(text)) {
+            termFreqs.merge(token, weight, Integer::sum);
+        }
+    }
+
+    // ---------------------------------------------------------------- 加载与持久化
+
+    private void loadOrRebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            LocalDateTime savedAt = load();
+            if (savedAt == null) {
+                rebuild();
+            } else {
+                catchUp(savedAt);
+            }
+            ready = true;
+            log.info("文章搜索索引就绪，文档数：{}，词项数：{}，耗时{}ms", docs.size(), postings.size(),
+                    System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("文章搜索索引初始化失败，搜索将回退到数据库", e);
+        }
+    }
+
+    /**
+     * 分批按ID顺序全量重建
+     */
+    private void rebuild() {
+        long afterId = 0;
+        while (true) {
+            List<Article> batch = articleMapper.selectPublishedForIndex(afterId, REBUILD_BATCH_SIZE);
+            batch.forEach(this::add);
+            if (batch.size() < REBUILD_BATCH_SIZE) {
+                break;
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+        dirty = true;
+    }
+
+    /**
+     * 从索引文件加载后追平：重新索引之后有变更的文章，移除已不再发布的文章
+     */
+    private void catchUp(LocalDateTime savedAt) {
+        articleMapper.selectPublishedUpdatedSince(savedAt).forEach(this::add);
+
+        Set<Long> published = new HashSet<>(articleMapper.selectPublishedIds());
+        List<Long> stale = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long id : docs.keySet()) {
+                if (!published.contains(id)) {
+                    stale.add(id);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        stale.forEach(this::remove);
+    }
+
+    /**
+     * 加载索引文件，返回文件保存时间；文件不存在或损坏时返回 null
+     */
+    private LocalDateTime load() {
+        Path path = Paths.get(indexFile);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(path))))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                log.warn("搜索索引文件格式不匹配，将全量重建");
+                return null;
+            }
+            long savedAt = in.readLong();
+            int docCount = in.readInt();
+
+            lock.writeLock().lock();
+            try {
+                for (int i = 0; i < docCount; i++) {
+                    long id = in.readLong();
+                    long version = in.readLong();
+                    int termCount = in.readInt();
+                    Map<String, Integer> termFreqs = new HashMap<>(termCount * 2);
+                    for (int j = 0; j < termCount; j++) {
+                        byte[] term = new byte[in.readUnsignedShort()];
+                        in.readFully(term);
+                        termFreqs.put(new String(term, StandardCharsets.UTF_8), in.readInt());
+                    }
+                    putLocked(id, new IndexedDoc(version, termFreqs));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(savedAt), ZoneId.systemDefault());
+        } catch (IOException e) {
+            log.warn("读取搜索索引文件失败，将全量重建", e);
+            lock.writeLock().lock();
+            try {
+                postings.clear();
+                docs.clear();
+                totalLength = 0;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return null;
+        }
+    }
+
+    private void saveIfDirty() {
+        if (!ready || !dirty) {
+            return;
+        }
+        try {
+            save();
+        } catch (Exception e) {
+            log.error("保存搜索索引文件失败", e);
+        }
+    }
+
+    /**
+     * 写入临时文件后原子替换，避免留下半个文件
+     */
+    private void save() throws IOException {
+        Path path = Paths.get(indexFile).toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        dirty = false;
+        // 保存时间略早于实际快照，重启追平时宁可多重建几篇
+        long savedAt = System.currentTimeMillis() - 1000;
+        lock.readLock().lock();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(temp))))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            out.writeLong(savedAt);
+            out.writeInt(docs.size());
+            for (Map.Entry<Long, IndexedDoc> entry : docs.entrySet()) {
+                out.writeLong(entry.getKey());
+                out.writeLong(entry.getValue().version);
+                out.writeInt(entry.getValue().termFreqs.size());
+                for (Map.Entry<String, Integer> term : entry.getValue().termFreqs.entrySet()) {
+                    byte[] bytes = term.getKey().getBytes(StandardCharsets.UTF_8);
+                    out.writeShort(bytes.length);
+                    out.write(bytes);
+                    out.writeInt(term.getValue());
+                }
+            }
+        } catch (IOException e) {
+            dirty = true;
+            throw e;
+        } finally {
+            lock.readLock().unlock();
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.debug("搜索索引已保存：{}", path);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        maintainer.shutdown();
+        maintainer.awaitTermination(10, TimeUnit.SECONDS);
+        saveIfDirty();
+    }
+
+    // ---------------------------------------------------------------- 工具
+
+    private static final Comparator<Hit> HIT_ORDER = (a, b) -> {
+        int byScore = Double.compare(b.score, a.score);
+        return byScore != 0 ? byScore : Long.compare(b.id, a.id);
+    };
+
+    private static List<Long> ids(List<Hit> hits) {
+        List<Long> ids = new ArrayList<>(hits.size());
+        hits.forEach(hit -> ids.add(hit.id));
+        return ids;
+    }
+
+    private static String encodeCursor(Hit hit) {
+        String raw = CURSOR_TAG + Long.toHexString(Double.doubleToLongBits(hit.score)) + "|" + hit.id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Hit decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(CURSOR_TAG)) {
+                throw new IllegalArgumentException();
+            }
+            String[] parts = raw.substring(CURSOR_TAG.length()).split("\\|");
+            return new Hit(Long.parseLong(parts[1]), Double.longBitsToDouble(Long.parseUnsignedLong(parts[0], 16)));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("游标无效");
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time == null ? 0L : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class Hit {
+
+        private final long id;
+
+        private final double score;
+
+        Hit(long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+
+    private static final class IndexedDoc {
+
+        /**
+         * 文章 update_time，用于丢弃乱序到达的旧版本
+         */
+        private final long version;
+
+        private final Map<String, Integer> termFreqs;
+
+        private final int length;
+
+        IndexedDoc(long version, Map<String, Integer> termFreqs) {
+            this.version = version;
+            this.termFreqs = termFreqs;
+            this.length = termFreqs.values().stream().mapToInt(Integer::intValue).sum();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.blog.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 索引检索结果：按相关度排好序的一页文章ID
+ *
+ * @author blog
+ */
+@Getter
+@AllArgsConstructor
+public class SearchHits {
+
+    /**
+     * 命中总数
+     */
+    private final long total;
+
+    /**
+     * 当前页文章ID，按相关度降序
+     */
+    private final List<Long> ids;
+
+    /**
+     * 下一页游标，没有更多结果时为空
+     */
+    private final String nextCursor;
+}
@@ -0,0 +1,354 @@
+package com.blog.search;
+
+import com.blog.entity.Article;
+import com.blog.entity.ArticleTag;
+import com.blog.mapper.ArticleMapper;
+import com.blog.mapper.ArticleTagMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 标签 → 已发布文章的内存倒排索引
+ * <p>
+ * 已发布文章按 (发布时间降序, ID降序) 排成一列，每篇文章在其中的位置即序号；每个标签保存升序的序号数组，
+ * 多标签 AND 从最短的数组开始求交集，OR 用位图求并集，结果天然按发布时间排好序，数据库只需按ID取当前页。
+ * <p>
+ * 可变状态只在维护线程上修改，查询读取不可变快照。文章或标签关联变化后在事务提交后重新加载该文章，
+ * 并通过 Redis 频道通知其他实例，连续的变更合并为一次快照重建。
+ *
+ * @author blog
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagArticleIndex {
+
+    private static final String CHANGED_CHANNEL = "article:tag-index:changed";
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private static final int[] EMPTY = new int[0];
+
+    /**
+     * 较长数组超过较短数组的该倍数时，改用二分查找求交集
+     */
+    private static final int GALLOP_RATIO = 8;
+
+    private static final Comparator<Map.Entry<Long, Doc>> ORDER =
+            Comparator.<Map.Entry<Long, Doc>>comparingLong(entry -> entry.getValue().publishMillis).reversed()
+                    .thenComparing(Map.Entry::getKey, Comparator.reverseOrder());
+
+    private final ArticleMapper articleMapper;
+    private final ArticleTagMapper articleTagMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    /**
+     * 已发布文章，只在维护线程上访问
+     */
+    private final Map<Long, Doc> docs = new HashMap<>();
+
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    private volatile Snapshot snapshot = new Snapshot(0, new long[0], Map.of());
+
+    private volatile boolean ready;
+
+    private ExecutorService maintainer;
+
+    @PostConstruct
+    public void init() {
+        maintainer = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "tag-index-maintainer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintainer.execute(this::loadAll);
+        listenerContainer.addMessageListener((message, pattern) -> {
+            List<Long> ids = Arrays.stream(new String(message.getBody(), StandardCharsets.UTF_8).split(","))
+                    .map(Long::valueOf)
+                    .toList();
+            maintainer.execute(() -> reload(ids));
+        }, new ChannelTopic(CHANGED_CHANNEL));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 快照版本，每次重建递增
+     */
+    public long getVersion() {
+        return snapshot.version;
+    }
+
+    /**
+     * 文章的状态、发布时间或标签变化后调用；处于事务中时在提交后执行
+     */
+    public void onArticleChanged(Long id) {
+        onArticlesChanged(List.of(id));
+    }
+
+    /**
+     * 批量版本的 {@link #onArticleChanged}
+     */
+    public void onArticlesChanged(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Long> changed = List.copyOf(ids);
+        Runnable task = () -> {
+            maintainer.execute(() -> reload(changed));
+            try {
+                stringRedisTemplate.convertAndSend(CHANGED_CHANNEL,
+                        changed.stream().map(String::valueOf).collect(Collectors.joining(",")));
+            } catch (Exception e) {
+                log.warn("通知其他实例更新标签索引失败", e);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    /**
+     * 查询带有指定标签的已发布文章，按发布时间降序分页
+     *
+     * @param matchAll true 表示须包含全部标签（AND），false 表示包含任一标签（OR）
+     */
+    public SearchHits query(Collection<Long> tagIds, boolean matchAll, long offset, int limit) {
+        Snapshot current = snapshot;
+        List<int[]> lists = new LinkedHashSet<>(tagIds).stream()
+                .map(tagId -> current.postings.getOrDefault(tagId, EMPTY))
+                .collect(Collectors.toCollection(ArrayList::new));
+        int[] matched = lists.isEmpty() ? EMPTY : matchAll ? intersect(lists) : union(lists, current.ids.length);
+
+        int from = (int) Math.min(offset, matched.length);
+        int to = (int) Math.min((long) from + limit, matched.length);
+        List<Long> ids = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            ids.add(current.ids[matched[i]]);
+        }
+        return new SearchHits(matched.length, ids, null);
+    }
+
+    private static int[] intersect(List<int[]> lists) {
+        lists.sort(Comparator.comparingInt(list -> list.length));
+        int[] result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * 求两个升序数组的交集；长度相差悬殊时在长数组上二分查找
+     */
+    private static int[] intersect(int[] small, int[] large) {
+        int[] result = new int[small.length];
+        int count = 0;
+        if (large.length > small.length * GALLOP_RATIO) {
+            int low = 0;
+            for (int value : small) {
+                int pos = Arrays.binarySearch(large, low, large.length, value);
+                if (pos >= 0) {
+                    result[count++] = value;
+                    low = pos + 1;
+                } else {
+                    low = -pos - 1;
+                }
+                if (low >= large.length) {
+                    break;
+                }
+            }
+        } else {
+            int i = 0;
+            int j = 0;
+            while (i < small.length && j < large.length) {
+                if (small[i] < large[j]) {
+                    i++;
+                } else if (small[i] > large[j]) {
+                    j++;
+                } else {
+                    result[count++] = small[i];
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static int[] union(List<int[]> lists, int size) {
+        if (lists.size() == 1) {
+            return lists.get(0);
+        }
+        BitSet bits = new BitSet(size);
+        for (int[] list : lists) {
+            for (int ordinal : list) {
+                bits.set(ordinal);
+            }
+        }
+        return bits.stream().toArray();
+    }
+
+    /**
+     * 启动时按ID分批加载全部已发布文章及其标签
+     */
+    private void loadAll() {
+        long startTime = System.currentTimeMillis();
+        try {
+            long afterId = 0;
+            while (true) {
+                List<Article> batch = articleMapper.selectPublishTimes(afterId, LOAD_BATCH_SIZE);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                afterId = batch.get(batch.size() - 1).getId();
+                apply(batch, batch.stream().map(Article::getId).toList());
+            }
+            rebuild();
+            ready = true;
+            log.info("标签索引加载完成，文章{}篇，标签{}个，耗时{}ms", docs.size(), snapshot.postings.size(),
+                    System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("加载标签索引失败，按标签查询将回退到数据库", e);
+        }
+    }
+
+    private void reload(List<Long> ids) {
+        try {
+            apply(articleMapper.selectPublishTimesByIds(ids), ids);
+            scheduleRebuild();
+        } catch (Exception e) {
+            log.error("更新标签索引失败：{}", ids, e);
+        }
+    }
+
+    /**
+     * 用最新的文章状态替换 ids 对应的条目；不在 articles 中或未发布的文章被移除
+     */
+    private void apply(List<Article> articles, List<Long> ids) {
+        Map<Long, List<Long>> tagIds = articleTagMapper.selectByArticleIds(ids).stream()
+                .collect(Collectors.groupingBy(ArticleTag::getArticleId,
+                        Collectors.mapping(ArticleTag::getTagId, Collectors.toList())));
+        ids.forEach(docs::remove);
+        for (Article article : articles) {
+            if (!"PUBLISHED".equals(article.getStatus())) {
+                continue;
+            }
+            long[] tags = tagIds.getOrDefault(article.getId(), List.of()).stream().mapToLong(Long::longValue).toArray();
+            LocalDateTime published = article.getPublishTime() != null ? article.getPublishTime() : article.getCreateTime();
+            docs.put(article.getId(), new Doc(toMillis(published), tags));
+        }
+    }
+
+    /**
+     * 合并连续的变更：已有重建任务排队时不再重复提交
+     */
+    private void scheduleRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            maintainer.execute(this::rebuild);
+        }
+    }
+
+    private void rebuild() {
+        rebuildPending.set(false);
+        List<Map.Entry<Long, Doc>> ordered = new ArrayList<>(docs.entrySet());
+        ordered.sort(ORDER);
+
+        // 先统计每个标签的文章数以分配定长数组，再按序号顺序填充，数组自然升序
+        Map<Long, int[]> counts = new HashMap<>();
+        long[] ids = new long[ordered.size()];
+        for (int i = 0; i < ordered.size(); i++) {
+            ids[i] = ordered.get(i).getKey();
+            for (long tagId : ordered.get(i).getValue().tagIds) {
+                counts.computeIfAbsent(tagId, key -> new int[1])[0]++;
+            }
+        }
+        Map<Long, int[]> postings = new HashMap<>(counts.size() * 2);
+        Map<Long, int[]> filled = new HashMap<>(counts.size() * 2);
+        counts.forEach((tagId, count) -> {
+            postings.put(tagId, new int[count[0]]);
+            filled.put(tagId, new int[1]);
+        });
+        for (int i = 0; i < ordered.size(); i++) {
+            for (long tagId : ordered.get(i).getValue().tagIds) {
+                postings.get(tagId)[filled.get(tagId)[0]++] = i;
+            }
+        }
+        snapshot = new Snapshot(snapshot.version + 1, ids, postings);
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time == null ? 0L : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        maintainer.shutdownNow();
+    }
+
+    private static final class Doc {
+
+        private final long publishMillis;
+
+        private final long[] tagIds;
+
+        Doc(long publishMillis, long[] tagIds) {
+            this.publishMillis = publishMillis;
+            this.tagIds = tagIds;
+        }
+    }
+
+    /**
+     * 不可变快照：按发布时间排好序的文章ID，以及每个标签的升序序号数组
+     */
+    private static final class Snapshot {
+
+        private final long version;
+
+        private final long[] ids;
+
+        private final Map<Long, int[]> postings;
+
+        Snapshot(long version, long[] ids, Map<Long, int[]> postings) {
+            this.version = version;
+            this.ids = ids;
+            this.postings = postings;
+        }
+    }
+}
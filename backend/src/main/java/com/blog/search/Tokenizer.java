@@ -0,0 +1,87 @@
+package com.blog.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 搜索分词器
+ * <p>
+ * 拉丁字母和数字按单词切分并转小写；连续的中日韩文字切成相邻二元组（单个字保留为一元），
+ * 其余字符视为分隔符。
+ *
+ * @author blog
+ */
+public final class Tokenizer {
+
+    /**
+     * 单词最大长度，过长的串（如base64、链接）截断
+     */
+    private static final int MAX_WORD_LENGTH = 64;
+
+    private Tokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        StringBuilder word = new StringBuilder();
+        List<Integer> cjk = new ArrayList<>();
+        int i = 0;
+        while (i < text.length()) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            if (isCjk(codePoint)) {
+                flushWord(word, tokens);
+                cjk.add(codePoint);
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                flushCjk(cjk, tokens);
+                if (word.length() < MAX_WORD_LENGTH) {
+                    word.appendCodePoint(Character.toLowerCase(codePoint));
+                }
+            } else {
+                flushWord(word, tokens);
+                flushCjk(cjk, tokens);
+            }
+        }
+        flushWord(word, tokens);
+        flushCjk(cjk, tokens);
+        return tokens;
+    }
+
+    /**
+     * 是否为中日韩单字词元
+     */
+    public static boolean isCjkUnigram(String token) {
+        return token.codePointCount(0, token.length()) == 1 && isCjk(token.codePointAt(0));
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (word.length() > 0) {
+            tokens.add(word.toString());
+            word.setLength(0);
+        }
+    }
+
+    private static void flushCjk(List<Integer> cjk, List<String> tokens) {
+        if (cjk.size() == 1) {
+            tokens.add(new String(Character.toChars(cjk.get(0))));
+        } else {
+            for (int j = 0; j + 1 < cjk.size(); j++) {
+                tokens.add(new StringBuilder().appendCodePoint(cjk.get(j)).appendCodePoint(cjk.get(j + 1)).toString());
+            }
+        }
+        cjk.clear();
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
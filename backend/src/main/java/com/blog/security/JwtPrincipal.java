@@ -0,0 +1,48 @@
+package com.blog.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 已验证的JWT令牌主体
+ * <p>
+ * 由 JWT 认证过滤器在每个请求中验证一次后放入请求属性，Controller 直接读取，不再重复解析令牌。
+ *
+ * @author blog
+ */
+@Getter
+@AllArgsConstructor
+public final class JwtPrincipal {
+
+    /**
+     * 请求属性名
+     */
+    public static final String REQUEST_ATTRIBUTE = JwtPrincipal.class.getName();
+
+    private final Long userId;
+
+    private final String username;
+
+    /**
+     * 角色，旧令牌中没有该声明时为空
+     */
+    private final String role;
+
+    /**
+     * 过期时间（毫秒时间戳）
+     */
+    private final long expiresAt;
+
+    public boolean isExpired() {
+        return System.currentTimeMillis() >= expiresAt;
+    }
+
+    /**
+     * 获取当前请求已认证的主体，未登录或令牌无效时返回 null
+     */
+    public static JwtPrincipal from(HttpServletRequest request) {
+        Object principal = request.getAttribute(REQUEST_ATTRIBUTE);
+        return principal instanceof JwtPrincipal ? (JwtPrincipal) principal : null;
+    }
+}
@@ -0,0 +1,224 @@
+package com.blog.security;
+
+import com.blog.bulkhead.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 密码哈希
+ * <p>
+ * BCrypt 计算在专用的固定大小线程池中执行，等待队列有上限：队列满或等待超时时立即抛出 {@link BulkheadFullException}（503），
+ * 登录高峰或撞库时最多占满这几个线程，不会让全部请求线程都卡在哈希计算上，文章读取等请求不受影响。
+ * <p>
+ * 启动时在本机实测 BCrypt 耗时，选出单次哈希接近目标耗时的 cost（不低于 min-cost）。
+ * 库中 cost 低于当前值的哈希在登录成功后于后台重新计算，用户无感升级。
+ *
+ * @author blog
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PasswordHasher {
+
+    private static final String NAME = "password";
+
+    /**
+     * 测量 cost 时使用的样本密码
+     */
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 哈希线程数，0 表示 CPU 核数的一半（至少 1）
+     */
+    @Value("${blog.password.threads:0}")
+    private int threads;
+
+    @Value("${blog.password.queue-size:64}")
+    private int queueSize;
+
+    /**
+     * 请求线程排队等待哈希线程的最长时间；已开始的计算总会等到结束
+     */
+    @Value("${blog.password.timeout-ms:3000}")
+    private long timeoutMs;
+
+    /**
+     * 单次哈希的目标耗时
+     */
+    @Value("${blog.password.target-ms:250}")
+    private long targetMs;
+
+    @Value("${blog.password.min-cost:10}")
+    private int minCost;
+
+    @Value("${blog.password.max-cost:14}")
+    private int maxCost;
+
+    private ThreadPoolExecutor executor;
+
+    private BCryptPasswordEncoder encoder;
+
+    private Timer hashTimer;
+
+    private Counter rejected;
+
+    @PostConstruct
+    public void init() {
+        int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize),
+                r -> {
+                    Thread thread = new Thread(r, "password-hasher-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("blog.password.queue", executor, e -> e.getQueue().size())
+                .description("等待哈希的任务数")
+                .register(meterRegistry);
+        hashTimer = Timer.builder("blog.password.hash")
+                .description("单次密码哈希或校验的计算耗时")
+                .register(meterRegistry);
+        rejected = Counter.builder("blog.password.rejected")
+                .description("哈希线程池繁忙被拒绝的次数")
+                .register(meterRegistry);
+
+        int cost = calibrate();
+        encoder = new BCryptPasswordEncoder(cost);
+        Gauge.builder("blog.password.cost", this, hasher -> cost).register(meterRegistry);
+        log.info("密码哈希线程池：{}个线程，队列{}，BCrypt cost {}", size, queueSize, cost);
+    }
+
+    /**
+     * 以 min-cost 实测耗时，cost 每加 1 耗时翻倍，取不超过目标耗时的最大 cost
+     */
+    private int calibrate() {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minCost);
+        long[] samples = new long[CALIBRATION_ROUNDS];
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode(CALIBRATION_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        double measuredMs = Math.max(samples[CALIBRATION_ROUNDS / 2] / 1_000_000.0, 0.001);
+
+        int cost = minCost;
+        double expectedMs = measuredMs;
+        while (cost < maxCost && expectedMs * 2 <= targetMs) {
+            cost++;
+            expectedMs *= 2;
+        }
+        log.info("BCrypt cost {} 实测{}ms，目标{}ms，选用cost {}（预计{}ms）", minCost, Math.round(measuredMs), targetMs,
+                cost, Math.round(expectedMs));
+        return cost;
+    }
+
+    /**
+     * 计算密码哈希
+     */
+    public String encode(String rawPassword) {
+        return call(() -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * 校验密码
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return false;
+        }
+        return call(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * 已有哈希的 cost 是否低于当前 cost
+     */
+    public boolean needsUpgrade(String encodedPassword) {
+        return encodedPassword != null && encoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * 在后台用当前 cost 重新计算哈希，不等待结果；线程池繁忙时直接放弃，下次登录再升级
+     *
+     * @param onEncoded 计算完成后在哈希线程中调用
+     */
+    public void upgradeAsync(String rawPassword, Consumer<String> onEncoded) {
+        try {
+            executor.execute(() -> {
+                try {
+                    onEncoded.accept(hashTimer.record(() -> encoder.encode(rawPassword)));
+                } catch (Exception e) {
+                    log.warn("升级密码哈希失败", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("哈希线程池繁忙，跳过本次密码哈希升级");
+        }
+    }
+
+    /**
+     * 超时只限制排队时间：仍在队列中的任务直接移除并返回503；已开始计算的任务无法中断（BCrypt 不响应中断），
+     * 取消只会让线程白白算完，因此继续等待它的结果
+     */
+    private <T> T call(Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(() -> hashTimer.recordCallable(task));
+        try {
+            executor.execute(future);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new BulkheadFullException(NAME);
+        }
+        try {
+            try {
+                return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (executor.remove(future)) {
+                    rejected.increment();
+                    throw new BulkheadFullException(NAME);
+                }
+                return future.get();
+            }
+        } catch (InterruptedException e) {
+            executor.remove(future);
+            Thread.currentThread().interrupt();
+            throw new BulkheadFullException(NAME);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
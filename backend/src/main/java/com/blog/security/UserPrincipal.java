@@ -0,0 +1,33 @@
+package com.blog.security;
+
+import com.blog.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 认证用户主体
+ * <p>
+ * 只保留认证所需的字段，作为 SecurityContext 中的 principal，也是用户主体缓存中的值。
+ *
+ * @author blog
+ */
+@Getter
+@AllArgsConstructor
+public final class UserPrincipal {
+
+    private final Long id;
+
+    private final String username;
+
+    private final String role;
+
+    private final Integer status;
+
+    public boolean isEnabled() {
+        return status != null && status == 1;
+    }
+
+    public static UserPrincipal of(User user) {
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getRole(), user.getStatus());
+    }
+}
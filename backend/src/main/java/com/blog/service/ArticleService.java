@@ -2,8 +2,17 @@ package com.blog.service;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.blog.backup.BackupFormat;
+import com.blog.cache.ArticleBodyCache;
+import com.blog.common.CursorPage;
+import com.blog.dto.ArticleSummaryDto;
 import com.blog.entity.Article;
+import com.blog.export.ExportProgress;
+import com.blog.importer.ImportProgress;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -16,12 +25,46 @@ public interface ArticleService extends IService<Article> {
     /**
      * 分页查询文章
      */
-    IPage<Article> getArticlePage(Integer page, Integer size, Long categoryId, String status, String keyword);
+    IPage<ArticleSummaryDto> getArticlePage(Integer page, Integer size, Long categoryId, String status, String keyword);
+
+    /**
+     * 游标分页查询文章
+     *
+     * @param cursor 上一页返回的游标，为空时从第一页开始
+     */
+    CursorPage<ArticleSummaryDto> getArticleCursorPage(String cursor, Integer size, Long categoryId, String status, String keyword);
 
     /**
      * 获取文章详情
+     *
+     * @param userId     当前登录用户ID，未登录时为空；用于返回是否已点赞
+     * @param visitorKey 访客标识，同一时间窗口内同一访客只计一次阅读
+     */
+    Article getArticleDetail(Long id, Long userId, String visitorKey);
+
+    /**
+     * 获取文章元数据（ID、分类、状态、更新时间），用于条件请求校验，不加载正文
+     *
+     * @return 文章不存在时返回 null
      */
-    Article getArticleDetail(Long id);
+    Article getArticleMeta(Long id);
+
+    /**
+     * 记录一次阅读（详情请求以 304 返回、未调用 {@link #getArticleDetail} 时使用）
+     */
+    void recordView(Article meta, String visitorKey);
+
+    /**
+     * 获取已发布文章正文的预压缩响应体
+     *
+     * @param meta {@link #getArticleMeta} 返回的元数据
+     */
+    ArticleBodyCache.CompressedBody getArticleBody(Article meta);
+
+    /**
+     * 用户是否已点赞文章
+     */
+    boolean isLikedBy(Long articleId, Long userId);
 
     /**
      * 创建文章
@@ -33,6 +76,37 @@ public interface ArticleService extends IService<Article> {
      */
     void updateArticle(Article article, List<Long> tagIds);
 
+    /**
+     * 从 zip / tar / tar.gz 归档批量导入 Markdown 文章，同步执行直到归档读完
+     *
+     * @param importId 任务ID，可为空；导入期间可通过 {@link #getImportProgress} 查询进度
+     */
+    ImportProgress importArticles(InputStream archive, Long authorId, String importId);
+
+    /**
+     * 查询导入进度，任务不存在时返回 null
+     */
+    ImportProgress getImportProgress(String importId);
+
+    /**
+     * 在后台导出静态站点（文章页、列表页、分类页），已有导出在运行时返回其进度
+     *
+     * @param full 是否全量导出，否则只重新生成上次导出后有变化的文件
+     */
+    ExportProgress exportStaticSite(boolean full);
+
+    /**
+     * 查询最近一次静态站点导出的进度，从未导出时返回 null
+     */
+    ExportProgress getExportProgress();
+
+    /**
+     * 将全部文章（含正文、标签、评论）备份写入输出流，按块读取、边读边写
+     *
+     * @param afterId 从该文章ID之后开始，用于断点续传
+     */
+    void backupArticles(OutputStream out, BackupFormat format, long afterId) throws IOException;
+
     /**
      * 删除文章
      */
@@ -44,29 +118,53 @@ public interface ArticleService extends IService<Article> {
     void publishArticle(Long id);
 
     /**
-     * 点赞文章
+     * 点赞文章，重复点赞不会重复计数
      */
     void likeArticle(Long articleId, Long userId);
 
     /**
-     * 取消点赞
+     * 取消点赞，未点赞时不做任何操作
      */
     void unlikeArticle(Long articleId, Long userId);
 
     /**
      * 获取热门文章
+     *
+     * @param categoryId 分类ID，为空时返回全站排行
      */
-    List<Article> getHotArticles(Integer limit);
+    List<ArticleSummaryDto> getHotArticles(Integer limit, Long categoryId);
+
+    /**
+     * 热门排行版本，排行顺序变化时改变
+     */
+    long getHotArticlesVersion();
 
     /**
      * 获取推荐文章
      */
-    List<Article> getRecommendedArticles(Integer limit);
+    List<ArticleSummaryDto> getRecommendArticles(Integer limit);
+
+    /**
+     * 按标签查询已发布文章，按发布时间降序分页
+     *
+     * @param matchAll true 表示须包含全部标签，false 表示包含任一标签
+     */
+    IPage<ArticleSummaryDto> getArticlesByTags(List<Long> tagIds, boolean matchAll, Integer page, Integer size);
+
+    /**
+     * 标签索引版本，标签与文章的关联或发布状态变化后改变
+     */
+    long getTagIndexVersion();
 
     /**
      * 搜索文章
      */
-    IPage<Article> searchArticles(String keyword, Integer page, Integer size);
+    IPage<ArticleSummaryDto> searchArticles(String keyword, Integer page, Integer size);
+
+    /**
+     * 游标分页搜索文章
+     */
+    CursorPage<ArticleSummaryDto> searchArticlesByCursor(String keyword, String cursor, Integer size);
 
     /**
      * 增加阅读量
@@ -0,0 +1,39 @@
+package com.blog.service;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import com.blog.common.CursorPage;
+import com.blog.dto.CommentDto;
+import com.blog.dto.CommentRequest;
+import com.blog.entity.Comment;
+
+/**
+ * 评论服务接口
+ * 
+ * @author blog
+ */
+public interface CommentService extends IService<Comment> {
+
+    /**
+     * 分页获取文章的评论树：一页根评论（按时间倒序）及每个根评论下最早的若干条回复
+     *
+     * @param cursor 上一页返回的 nextCursor，为空时从最新的根评论开始
+     */
+    CursorPage<CommentDto> getArticleComments(Long articleId, String cursor, Integer size);
+
+    /**
+     * 分页获取根评论下的回复（按时间正序），用于展开超出首屏数量的回复
+     */
+    CursorPage<CommentDto> getReplies(Long rootId, String cursor, Integer size);
+
+    /**
+     * 发表评论或回复
+     */
+    Comment addComment(CommentRequest request, Long userId);
+
+    /**
+     * 删除评论，根评论连同其回复一起删除
+     *
+     * @param admin 管理员可以删除任何评论，其他用户只能删除自己的评论
+     */
+    void deleteComment(Long id, Long userId, boolean admin);
+}
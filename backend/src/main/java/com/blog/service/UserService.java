@@ -1,6 +1,7 @@
 package com.blog.service;
 
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.blog.dto.AvailabilityDto;
 import com.blog.entity.User;
 
 /**
@@ -15,6 +16,11 @@ public interface UserService extends IService<User> {
      */
     void register(String username, String password, String email, String nickname);
 
+    /**
+     * 检查用户名、邮箱是否可用，为空的参数不检查
+     */
+    AvailabilityDto checkAvailability(String username, String email);
+
     /**
      * 用户登录
      */
@@ -34,4 +40,9 @@ public interface UserService extends IService<User> {
      * 更新用户信息
      */
     void updateUserInfo(Long userId, String nickname, String avatar);
+
+    /**
+     * 修改密码
+     */
+    void changePassword(Long userId, String oldPassword, String newPassword);
 }
\ No newline at end of file
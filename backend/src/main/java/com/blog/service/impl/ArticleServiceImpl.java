@@ -1,12 +1,36 @@
 package com.blog.service.impl;
 
-import cn.hutool.core.util.StrUtil;
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.blog.backup.ArticleBackupWriter;
+import com.blog.backup.BackupFormat;
+import com.blog.cache.ArticleBodyCache;
+import com.blog.cache.ArticleCollectionVersion;
+import com.blog.cache.ArticleDetailCache;
+import com.blog.cache.TaxonomyCache;
+import com.blog.common.CursorPage;
+import com.blog.counter.CommentCountBuffer;
+import com.blog.counter.UniqueVisitorCounter;
+import com.blog.counter.ViewCountBuffer;
+import com.blog.dto.ArticleCursor;
+import com.blog.dto.ArticleSummaryDto;
 import com.blog.entity.Article;
+import com.blog.entity.ArticleTag;
+import com.blog.entity.Tag;
+import com.blog.export.ExportProgress;
+import com.blog.export.StaticSiteExporter;
+import com.blog.feed.SiteFeedCache;
+import com.blog.importer.ArticleImporter;
+import com.blog.importer.ImportProgress;
+import com.blog.like.ArticleLikeStore;
 import com.blog.mapper.ArticleMapper;
+import com.blog.mapper.ArticleTagMapper;
+import com.blog.ranking.HotArticleRanking;
+import com.blog.render.MarkdownRenderer;
+import com.blog.search.ArticleSearchIndex;
+import com.blog.search.SearchHits;
+import com.blog.search.TagArticleIndex;
 import com.blog.service.ArticleService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,8 +38,18 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 文章Service实现类
@@ -27,50 +61,122 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> implements ArticleService {
 
+    private final ViewCountBuffer viewCountBuffer;
+    private final CommentCountBuffer commentCountBuffer;
+    private final UniqueVisitorCounter uniqueVisitorCounter;
+    private final ArticleDetailCache articleDetailCache;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final HotArticleRanking hotArticleRanking;
+    private final ArticleLikeStore articleLikeStore;
+    private final ArticleCollectionVersion articleCollectionVersion;
+    private final MarkdownRenderer markdownRenderer;
+    private final ArticleBodyCache articleBodyCache;
+    private final ArticleImporter articleImporter;
+    private final StaticSiteExporter staticSiteExporter;
+    private final ArticleBackupWriter articleBackupWriter;
+    private final ArticleTagMapper articleTagMapper;
+    private final TaxonomyCache taxonomyCache;
+    private final TagArticleIndex tagArticleIndex;
+    private final SiteFeedCache siteFeedCache;
+
     @Override
-    public IPage<Article> getArticlePage(Integer page, Integer size, Long categoryId, String status, String keyword) {
-        Page<Article> pageParam = new Page<>(page, size);
-        
-        LambdaQueryWrapper<Article> wrapper = new LambdaQueryWrapper<>();
-        
-        // 分类过滤
-        if (categoryId != null) {
-            wrapper.eq(Article::getCategoryId, categoryId);
-        }
+    public IPage<ArticleSummaryDto> getArticlePage(Integer page, Integer size, Long categoryId, String status, String keyword) {
+        Page<ArticleSummaryDto> pageParam = new Page<>(page, size);
         
-        // 状态过滤
-        if (StrUtil.isNotBlank(status)) {
-            wrapper.eq(Article::getStatus, status);
-        }
-        
-        // 关键词搜索
-        if (StrUtil.isNotBlank(keyword)) {
-            wrapper.and(w -> w.like(Article::getTitle, keyword)
-                    .or()
-                    .like(Article::getSummary, keyword));
+        // 排序：置顶 -> 发布时间 -> 创建时间；只查询摘要列，不加载正文
+        IPage<ArticleSummaryDto> result = baseMapper.selectSummaryPage(pageParam, categoryId, status, keyword, false);
+        completeSummaries(result.getRecords());
+        return result;
+    }
+
+    @Override
+    public CursorPage<ArticleSummaryDto> getArticleCursorPage(String cursor, Integer size, Long categoryId, String status, String keyword) {
+        return seekPage(categoryId, status, keyword, false, cursor, size);
+    }
+
+    /**
+     * 按 (is_top, publish_time, create_time, id) 从游标位置向后读取一页，多取一行用于判断是否还有下一页
+     */
+    private CursorPage<ArticleSummaryDto> seekPage(Long categoryId, String status, String keyword, boolean includeContent,
+                                                   String cursor, Integer size) {
+        List<ArticleSummaryDto> records = baseMapper.selectSummarySeekPage(categoryId, status, keyword, includeContent,
+                ArticleCursor.decode(cursor), size + 1);
+
+        String nextCursor = null;
+        if (records.size() > size) {
+            records = records.subList(0, size);
+            nextCursor = ArticleCursor.of(records.get(size - 1)).encode();
         }
-        
-        // 排序：置顶 -> 发布时间 -> 创建时间
-        wrapper.orderByDesc(Article::getIsTop)
-               .orderByDesc(Article::getPublishTime)
-               .orderByDesc(Article::getCreateTime);
-        
-        return page(pageParam, wrapper);
+        completeSummaries(records);
+        return new CursorPage<>(records, nextCursor);
     }
 
     @Override
-    public Article getArticleDetail(Long id) {
-        Article article = getById(id);
+    public Article getArticleDetail(Long id, Long userId, String visitorKey) {
+        Article article = articleDetailCache.get(id, this::loadArticle);
         if (article == null) {
             throw new RuntimeException("文章不存在");
         }
         
-        // 增加阅读量
-        incrementViewCount(id);
+        recordView(article, visitorKey);
+        mergePendingCounts(article);
         
+        // 点赞数和点赞状态以内存位图为准，不再查库
+        article.setLikeCount(articleLikeStore.getLikeCount(id));
+        if (userId != null) {
+            article.setLikedByMe(articleLikeStore.hasLiked(id, userId));
+        }
+        // 缓存中只保存标签ID，标签名称等从分类标签快照读取，标签修改后立即生效
+        article.setTags(resolveTags(taxonomyCache.current(), article.getTagIds()));
+        
+        return article;
+    }
+
+    /**
+     * 加载文章及其标签ID，作为详情缓存的回源函数
+     */
+    private Article loadArticle(Long id) {
+        Article article = getById(id);
+        if (article != null) {
+            article.setTagIds(articleTagMapper.selectTagIdsByArticleId(id));
+        }
         return article;
     }
 
+    @Override
+    public Article getArticleMeta(Long id) {
+        // 详情通常已在本地缓存中，未命中时只查询元数据列
+        Article cached = articleDetailCache.peek(id);
+        return cached != null ? cached : baseMapper.selectMetaById(id);
+    }
+
+    @Override
+    public void recordView(Article meta, String visitorKey) {
+        // 增加阅读量（同一窗口内重复访问不计数）
+        long counted = uniqueVisitorCounter.recordVisit(meta.getId(), visitorKey);
+        if (counted > 0 && "PUBLISHED".equals(meta.getStatus())) {
+            hotArticleRanking.recordViews(meta.getId(), meta.getCategoryId(), counted);
+        }
+    }
+
+    @Override
+    public ArticleBodyCache.CompressedBody getArticleBody(Article meta) {
+        return articleBodyCache.get(meta.getId(), meta.getUpdateTime(), () -> {
+            Article article = articleDetailCache.get(meta.getId(), this::loadArticle);
+            if (article != null && meta.getUpdateTime() != null && article.getUpdateTime() != null
+                    && article.getUpdateTime().isBefore(meta.getUpdateTime())) {
+                // 详情缓存（L2）仍是修改前的版本，直接查库，否则每次请求都会重新编码直到 L2 过期
+                article = loadArticle(meta.getId());
+            }
+            return article;
+        });
+    }
+
+    @Override
+    public boolean isLikedBy(Long articleId, Long userId) {
+        return articleLikeStore.hasLiked(articleId, userId);
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void createArticle(Article article, List<Long> tagIds) {
@@ -91,11 +197,21 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             article.setIsRecommend(0);
         }
         
-        // 保存文章
-        save(article);
+        // 渲染正文
+        markdownRenderer.render(article.getContent()).applyTo(article);
         
-        // TODO: 保存文章标签关联关系
-        // 这里需要实现文章标签关联的保存逻辑
+        // 保存文章及标签关联
+        save(article);
+        List<Long> newTagIds = normalizeTagIds(tagIds);
+        if (!newTagIds.isEmpty()) {
+            articleTagMapper.batchInsertIgnore(toLinks(article.getId(), newTagIds));
+        }
+        articleSearchIndex.onArticleChanged(article.getId());
+        tagArticleIndex.onArticleChanged(article.getId());
+        articleCollectionVersion.bump();
+        if ("PUBLISHED".equals(article.getStatus())) {
+            siteFeedCache.invalidate();
+        }
         
         log.info("文章创建成功：{}", article.getTitle());
     }
@@ -108,14 +224,56 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             throw new RuntimeException("文章不存在");
         }
         
-        // 更新文章
-        updateById(article);
+        // 正文变化（或渲染规则升级）时才重新渲染，未设置的渲染字段不会被更新
+        if (article.getContent() != null
+                && (!MarkdownRenderer.hash(article.getContent()).equals(existingArticle.getContentHash())
+                    || !Integer.valueOf(MarkdownRenderer.RENDER_VERSION).equals(existingArticle.getRenderVersion()))) {
+            markdownRenderer.render(article.getContent()).applyTo(article);
+        }
         
-        // TODO: 更新文章标签关联关系
+        // 更新文章；标签只写入差异部分
+        updateById(article);
+        if (tagIds != null) {
+            updateArticleTags(article.getId(), normalizeTagIds(tagIds));
+        }
+        articleDetailCache.evict(article.getId());
+        articleBodyCache.evict(article.getId());
+        articleSearchIndex.onArticleChanged(article.getId());
+        tagArticleIndex.onArticleChanged(article.getId());
+        articleCollectionVersion.bump();
+        // 草稿的修改不影响站点地图和RSS
+        if ("PUBLISHED".equals(existingArticle.getStatus()) || "PUBLISHED".equals(article.getStatus())) {
+            siteFeedCache.invalidate();
+        }
         
         log.info("文章更新成功：{}", article.getTitle());
     }
 
+    @Override
+    public ImportProgress importArticles(InputStream archive, Long authorId, String importId) {
+        return articleImporter.importArchive(archive, authorId, importId);
+    }
+
+    @Override
+    public ImportProgress getImportProgress(String importId) {
+        return articleImporter.getProgress(importId);
+    }
+
+    @Override
+    public ExportProgress exportStaticSite(boolean full) {
+        return staticSiteExporter.start(full);
+    }
+
+    @Override
+    public ExportProgress getExportProgress() {
+        return staticSiteExporter.getProgress();
+    }
+
+    @Override
+    public void backupArticles(OutputStream out, BackupFormat format, long afterId) throws IOException {
+        articleBackupWriter.write(out, format, afterId);
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void deleteArticle(Long id) {
@@ -124,10 +282,22 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             throw new RuntimeException("文章不存在");
         }
         
-        // 删除文章
+        // 删除文章及标签关联
         removeById(id);
-        
-        // TODO: 删除文章标签关联关系
+        articleTagMapper.deleteByArticleId(id);
+        viewCountBuffer.discard(id);
+        commentCountBuffer.discard(id);
+        uniqueVisitorCounter.discard(id);
+        articleDetailCache.evict(id);
+        articleBodyCache.evict(id);
+        articleSearchIndex.onArticleChanged(id);
+        tagArticleIndex.onArticleChanged(id);
+        hotArticleRanking.remove(id);
+        articleLikeStore.discard(id);
+        articleCollectionVersion.bump();
+        if ("PUBLISHED".equals(article.getStatus())) {
+            siteFeedCache.invalidate();
+        }
         
         log.info("文章删除成功：{}", article.getTitle());
     }
@@ -140,78 +310,260 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             throw new RuntimeException("文章不存在");
         }
         
-        article.setStatus("PUBLISHED");
-        article.setPublishTime(LocalDateTime.now());
-        updateById(article);
+        // 只更新状态、发布时间和更新时间：整行写回会带上读到的 update_time（ETag 不变）
+        // 和旧的计数（覆盖期间落库的阅读量、点赞数、评论数）
+        lambdaUpdate()
+                .set(Article::getStatus, "PUBLISHED")
+                .set(Article::getPublishTime, LocalDateTime.now())
+                .setSql("update_time = NOW()")
+                .eq(Article::getId, id)
+                .update();
+        articleDetailCache.evict(id);
+        articleBodyCache.evict(id);
+        articleSearchIndex.onArticleChanged(id);
+        tagArticleIndex.onArticleChanged(id);
+        articleCollectionVersion.bump();
+        siteFeedCache.invalidate();
         
         log.info("文章发布成功：{}", article.getTitle());
     }
 
+    /**
+     * 去重、去空并校验标签存在
+     */
+    private List<Long> normalizeTagIds(List<Long> tagIds) {
+        if (tagIds == null || tagIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        TaxonomyCache.Snapshot taxonomy = taxonomyCache.current();
+        List<Long> normalized = tagIds.stream().filter(Objects::nonNull).distinct().toList();
+        for (Long tagId : normalized) {
+            if (taxonomy.getTag(tagId) == null) {
+                throw new RuntimeException("标签不存在：" + tagId);
+            }
+        }
+        return normalized;
+    }
+
+    /**
+     * 对比现有标签，一条多行INSERT写入新增的关联，一条 DELETE ... IN 删除移除的关联
+     */
+    private void updateArticleTags(Long articleId, List<Long> tagIds) {
+        Set<Long> existing = new HashSet<>(articleTagMapper.selectTagIdsByArticleId(articleId));
+        Set<Long> requested = new HashSet<>(tagIds);
+
+        List<Long> added = tagIds.stream().filter(tagId -> !existing.contains(tagId)).toList();
+        List<Long> removed = existing.stream().filter(tagId -> !requested.contains(tagId)).toList();
+        if (!added.isEmpty()) {
+            articleTagMapper.batchInsertIgnore(toLinks(articleId, added));
+        }
+        if (!removed.isEmpty()) {
+            articleTagMapper.deleteByArticleIdAndTagIds(articleId, removed);
+        }
+    }
+
+    private static List<ArticleTag> toLinks(Long articleId, List<Long> tagIds) {
+        return tagIds.stream().map(tagId -> new ArticleTag(articleId, tagId)).toList();
+    }
+
+    /**
+     * 一次查询填充一页文章的标签
+     */
+    private void fillTags(List<ArticleSummaryDto> articles) {
+        if (articles.isEmpty()) {
+            return;
+        }
+        List<Long> ids = articles.stream().map(ArticleSummaryDto::getId).toList();
+        Map<Long, List<Long>> tagIdsByArticle = articleTagMapper.selectByArticleIds(ids).stream()
+                .collect(Collectors.groupingBy(ArticleTag::getArticleId,
+                        Collectors.mapping(ArticleTag::getTagId, Collectors.toList())));
+        TaxonomyCache.Snapshot taxonomy = taxonomyCache.current();
+        articles.forEach(article -> article.setTags(resolveTags(taxonomy, tagIdsByArticle.get(article.getId()))));
+    }
+
+    private static List<Tag> resolveTags(TaxonomyCache.Snapshot taxonomy, List<Long> tagIds) {
+        if (tagIds == null || tagIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // 已删除的标签在快照中不存在，直接跳过
+        return tagIds.stream().map(taxonomy::getTag).filter(Objects::nonNull).toList();
+    }
+
     @Override
     public void incrementViewCount(Long id) {
-        baseMapper.incrementViewCount(id);
+        // 写入内存缓冲，由后台线程批量落库
+        viewCountBuffer.increment(id);
+    }
+
+    /**
+     * 将尚未落库的阅读量和评论数增量合并到文章中
+     */
+    private void mergePendingCounts(Article article) {
+        article.setViewCount(withPendingViews(article.getId(), article.getViewCount()));
+        article.setCommentCount(withPendingComments(article.getId(), article.getCommentCount()));
+    }
+
+    /**
+     * 填充列表中不在文章表里的字段：标签、尚未落库的阅读量和评论数、内存中的点赞数
+     */
+    private void completeSummaries(List<ArticleSummaryDto> articles) {
+        fillTags(articles);
+        articles.forEach(article -> {
+            article.setViewCount(withPendingViews(article.getId(), article.getViewCount()));
+            article.setCommentCount(withPendingComments(article.getId(), article.getCommentCount()));
+            // 点赞位图已加载的文章使用内存中的点赞数，未加载的沿用库中的值
+            Long likeCount = articleLikeStore.getLoadedLikeCount(article.getId());
+            if (likeCount != null) {
+                article.setLikeCount(likeCount);
+            }
+        });
+    }
+
+    private long withPendingViews(Long id, Long persisted) {
+        return (persisted == null ? 0L : persisted) + viewCountBuffer.getPending(id);
+    }
+
+    private long withPendingComments(Long id, Long persisted) {
+        return Math.max(0L, (persisted == null ? 0L : persisted) + commentCountBuffer.getPending(id));
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public void likeArticle(Long articleId, Long userId) {
-        // TODO: 检查用户是否已经点赞
-        // 这里需要实现点赞逻辑，包括检查是否已点赞、增加点赞数等
+        Article article = requireArticle(articleId);
         
-        // 增加文章点赞数
-        baseMapper.incrementLikeCount(articleId);
+        // 只修改内存位图，article_likes 和 like_count 由后台批量落库
+        if (!articleLikeStore.like(articleId, userId)) {
+            return;
+        }
+        hotArticleRanking.recordLike(articleId, article.getCategoryId(), true);
         
         log.info("用户{}点赞文章{}", userId, articleId);
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public void unlikeArticle(Long articleId, Long userId) {
-        // TODO: 检查用户是否已经点赞
-        // 这里需要实现取消点赞逻辑
+        Article article = requireArticle(articleId);
         
-        // 减少文章点赞数
-        baseMapper.decrementLikeCount(articleId);
+        if (!articleLikeStore.unlike(articleId, userId)) {
+            return;
+        }
+        hotArticleRanking.recordLike(articleId, article.getCategoryId(), false);
         
         log.info("用户{}取消点赞文章{}", userId, articleId);
     }
 
+    private Article requireArticle(Long articleId) {
+        Article article = articleDetailCache.get(articleId, this::loadArticle);
+        if (article == null) {
+            throw new RuntimeException("文章不存在");
+        }
+        return article;
+    }
+
     @Override
-    @Cacheable(value = "hotArticles", key = "#limit")
-    public List<Article> getHotArticles(Integer limit) {
-        LambdaQueryWrapper<Article> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(Article::getStatus, "PUBLISHED")
-               .orderByDesc(Article::getViewCount)
-               .last("LIMIT " + limit);
-        
-        return list(wrapper);
+    public List<ArticleSummaryDto> getHotArticles(Integer limit, Long categoryId) {
+        int size = Math.max(1, Math.min(limit, hotArticleRanking.getTopK()));
+        List<ArticleSummaryDto> articles = hotArticleRanking.getTop(size, categoryId);
+        if (articles.isEmpty()) {
+            // 排行尚无数据（首次启动且无检查点）时按累计阅读量兜底
+            articles = baseMapper.selectHotSummaries(categoryId, size);
+        }
+        completeSummaries(articles);
+        return articles;
+    }
+
+    @Override
+    public long getHotArticlesVersion() {
+        return hotArticleRanking.getVersion();
     }
 
     @Override
     @Cacheable(value = "recommendArticles", key = "#limit")
-    public List<Article> getRecommendArticles(Integer limit) {
-        LambdaQueryWrapper<Article> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(Article::getStatus, "PUBLISHED")
-               .eq(Article::getIsRecommend, 1)
-               .orderByDesc(Article::getPublishTime)
-               .last("LIMIT " + limit);
+    public List<ArticleSummaryDto> getRecommendArticles(Integer limit) {
+        List<ArticleSummaryDto> articles = baseMapper.selectRecommendSummaries(limit);
+        fillTags(articles);
+        return articles;
+    }
+
+    @Override
+    public IPage<ArticleSummaryDto> getArticlesByTags(List<Long> tagIds, boolean matchAll, Integer page, Integer size) {
+        Page<ArticleSummaryDto> pageParam = new Page<>(page, size);
+        List<Long> distinctTagIds = tagIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctTagIds.isEmpty()) {
+            return pageParam;
+        }
         
-        return list(wrapper);
+        if (!tagArticleIndex.isReady()) {
+            // 索引尚未加载完成，回退到数据库查询
+            pageParam.setTotal(baseMapper.countByTags(distinctTagIds, matchAll, distinctTagIds.size()));
+            pageParam.setRecords(hydrate(baseMapper.selectIdsByTags(distinctTagIds, matchAll, distinctTagIds.size(),
+                    pageParam.offset(), size)));
+            return pageParam;
+        }
+        
+        // 由索引完成筛选和排序，数据库只按ID取当前页
+        SearchHits hits = tagArticleIndex.query(distinctTagIds, matchAll, pageParam.offset(), size);
+        pageParam.setTotal(hits.getTotal());
+        pageParam.setRecords(hydrate(hits.getIds()));
+        return pageParam;
+    }
+
+    @Override
+    public long getTagIndexVersion() {
+        return tagArticleIndex.getVersion();
     }
 
     @Override
-    public IPage<Article> searchArticles(String keyword, Integer page, Integer size) {
-        Page<Article> pageParam = new Page<>(page, size);
+    public IPage<ArticleSummaryDto> searchArticles(String keyword, Integer page, Integer size) {
+        Page<ArticleSummaryDto> pageParam = new Page<>(page, size);
         
-        LambdaQueryWrapper<Article> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(Article::getStatus, "PUBLISHED")
-               .and(w -> w.like(Article::getTitle, keyword)
-                       .or()
-                       .like(Article::getSummary, keyword)
-                       .or()
-                       .like(Article::getContent, keyword))
-               .orderByDesc(Article::getPublishTime);
+        if (!articleSearchIndex.isReady() || !articleSearchIndex.supports(keyword)) {
+            // 索引尚未加载完成或查询只含中文单字，回退到数据库模糊查询；正文只参与匹配，不会被查询出来
+            IPage<ArticleSummaryDto> result = baseMapper.selectSummaryPage(pageParam, null, "PUBLISHED", keyword, true);
+            completeSummaries(result.getRecords());
+            return result;
+        }
         
-        return page(pageParam, wrapper);
+        // 由索引完成匹配和排序，数据库只按ID取当前页
+        SearchHits hits = articleSearchIndex.search(keyword, (int) pageParam.offset(), size);
+        pageParam.setTotal(hits.getTotal());
+        pageParam.setRecords(hydrate(hits.getIds()));
+        return pageParam;
+    }
+
+    @Override
+    public CursorPage<ArticleSummaryDto> searchArticlesByCursor(String keyword, String cursor, Integer size) {
+        // 按游标来源继续翻页：数据库游标始终走数据库，索引就绪前开始的翻页不会中途切换
+        boolean indexCursor = ArticleSearchIndex.isIndexCursor(cursor);
+        boolean indexUsable = articleSearchIndex.isReady() && articleSearchIndex.supports(keyword);
+        if (!indexCursor && (!indexUsable || (cursor != null && !cursor.isBlank()))) {
+            return seekPage(null, "PUBLISHED", keyword, true, cursor, size);
+        }
+        if (!indexUsable) {
+            // 其他实例生成的索引游标，本实例索引尚未就绪
+            throw new IllegalArgumentException("搜索索引暂不可用，请重新搜索");
+        }
+        SearchHits hits = articleSearchIndex.searchAfter(keyword, cursor, size);
+        return new CursorPage<>(hydrate(hits.getIds()), hits.getNextCursor());
+    }
+
+    /**
+     * 按ID查询文章摘要并保持入参顺序；期间被删除的文章会被跳过
+     */
+    private List<ArticleSummaryDto> hydrate(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, ArticleSummaryDto> byId = baseMapper.selectSummariesByIds(ids).stream()
+                .collect(Collectors.toMap(ArticleSummaryDto::getId, Function.identity()));
+        List<ArticleSummaryDto> records = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ArticleSummaryDto summary = byId.get(id);
+            if (summary != null) {
+                records.add(summary);
+            }
+        }
+        completeSummaries(records);
+        return records;
     }
-}
\ No newline at end of file
+}
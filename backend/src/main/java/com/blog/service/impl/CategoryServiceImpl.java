@@ -1,16 +1,47 @@
 package com.blog.service.impl;
 
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.blog.cache.TaxonomyCache;
 import com.blog.entity.Category;
 import com.blog.mapper.CategoryMapper;
 import com.blog.service.CategoryService;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.io.Serializable;
+
 /**
  * 分类Service实现类
  * 
  * @author blog
  */
 @Service
+@RequiredArgsConstructor
 public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category> implements CategoryService {
+
+    private final TaxonomyCache taxonomyCache;
+
+    /**
+     * 写入后刷新分类标签快照
+     */
+    @Override
+    public boolean save(Category category) {
+        boolean saved = super.save(category);
+        taxonomyCache.refresh();
+        return saved;
+    }
+
+    @Override
+    public boolean updateById(Category category) {
+        boolean updated = super.updateById(category);
+        taxonomyCache.refresh();
+        return updated;
+    }
+
+    @Override
+    public boolean removeById(Serializable id) {
+        boolean removed = super.removeById(id);
+        taxonomyCache.refresh();
+        return removed;
+    }
 }
\ No newline at end of file
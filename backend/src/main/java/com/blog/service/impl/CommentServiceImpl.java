@@ -0,0 +1,182 @@
+package com.blog.service.impl;
+
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.blog.cache.CommentPageCache;
+import com.blog.common.CursorPage;
+import com.blog.counter.CommentCountBuffer;
+import com.blog.dto.CommentDto;
+import com.blog.dto.CommentRequest;
+import com.blog.entity.Article;
+import com.blog.entity.Comment;
+import com.blog.mapper.CommentMapper;
+import com.blog.ranking.HotArticleRanking;
+import com.blog.service.ArticleService;
+import com.blog.service.CommentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 评论Service实现类
+ * 
+ * @author blog
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommentServiceImpl extends ServiceImpl<CommentMapper, Comment> implements CommentService {
+
+    private final ArticleService articleService;
+    private final CommentCountBuffer commentCountBuffer;
+    private final HotArticleRanking hotArticleRanking;
+    private final CommentPageCache commentPageCache;
+
+    /**
+     * 评论树中每个根评论最多随首屏返回的回复数，其余通过回复分页接口加载
+     */
+    @Value("${blog.comment.replies-per-root:20}")
+    private int repliesPerRoot;
+
+    @Override
+    public CursorPage<CommentDto> getArticleComments(Long articleId, String cursor, Integer size) {
+        Long beforeId = decodeCursor(cursor);
+        return commentPageCache.get(articleId, beforeId, size, () -> loadCommentTree(articleId, beforeId, size));
+    }
+
+    /**
+     * 最多三次查询：根评论一页（多取一条判断是否还有下一页）、这些根评论下的回复、各根评论的回复数
+     */
+    private CursorPage<CommentDto> loadCommentTree(Long articleId, Long beforeId, int size) {
+        List<CommentDto> roots = baseMapper.selectRootPage(articleId, beforeId, size + 1);
+        String nextCursor = null;
+        if (roots.size() > size) {
+            roots = roots.subList(0, size);
+            nextCursor = String.valueOf(roots.get(size - 1).getId());
+        }
+        if (roots.isEmpty()) {
+            return new CursorPage<>(roots, null);
+        }
+
+        List<Long> rootIds = roots.stream().map(CommentDto::getId).toList();
+        Map<Long, CommentDto> byId = new HashMap<>(roots.size() * 4);
+        for (CommentDto root : roots) {
+            root.setReplyCount(0);
+            byId.put(root.getId(), root);
+        }
+        for (CommentDto count : baseMapper.countRepliesByRootIds(rootIds)) {
+            byId.get(count.getRootId()).setReplyCount(count.getReplyCount());
+        }
+        attachReplies(byId, baseMapper.selectRepliesByRootIds(rootIds, repliesPerRoot));
+        return new CursorPage<>(roots, nextCursor);
+    }
+
+    @Override
+    public CursorPage<CommentDto> getReplies(Long rootId, String cursor, Integer size) {
+        List<CommentDto> replies = baseMapper.selectReplyPage(rootId, decodeCursor(cursor), size + 1);
+        String nextCursor = null;
+        if (replies.size() > size) {
+            replies = replies.subList(0, size);
+            nextCursor = String.valueOf(replies.get(size - 1).getId());
+        }
+        // 平铺返回，只补充被回复的用户；父评论不在本页时由客户端按 parentId 关联
+        Map<Long, CommentDto> byId = new HashMap<>(replies.size() * 2);
+        for (CommentDto reply : replies) {
+            CommentDto parent = byId.get(reply.getParentId());
+            if (parent != null) {
+                reply.setReplyToUserId(parent.getUserId());
+                reply.setReplyToNickname(parent.getNickname());
+            }
+            byId.put(reply.getId(), reply);
+        }
+        return new CursorPage<>(replies, nextCursor);
+    }
+
+    /**
+     * 一次遍历把回复挂到父评论下：回复按ID升序，父评论的ID总是更小，遍历到回复时父评论已在表中。
+     * 父评论已删除或不可见时挂到根评论下。
+     */
+    private static void attachReplies(Map<Long, CommentDto> byId, List<CommentDto> replies) {
+        for (CommentDto reply : replies) {
+            CommentDto parent = byId.get(reply.getParentId());
+            if (parent == null) {
+                parent = byId.get(reply.getRootId());
+                if (parent == null) {
+                    continue;
+                }
+            } else if (parent.getRootId() != null) {
+                reply.setReplyToUserId(parent.getUserId());
+                reply.setReplyToNickname(parent.getNickname());
+            }
+            parent.getChildren().add(reply);
+            byId.put(reply.getId(), reply);
+        }
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Comment addComment(CommentRequest request, Long userId) {
+        Article article = articleService.getArticleMeta(request.getArticleId());
+        if (article == null || !"PUBLISHED".equals(article.getStatus())) {
+            throw new RuntimeException("文章不存在");
+        }
+
+        Comment comment = new Comment();
+        comment.setArticleId(request.getArticleId());
+        comment.setUserId(userId);
+        comment.setContent(request.getContent().trim());
+        comment.setStatus("APPROVED");
+        if (request.getParentId() != null) {
+            Comment parent = getById(request.getParentId());
+            if (parent == null || !parent.getArticleId().equals(request.getArticleId())) {
+                throw new RuntimeException("回复的评论不存在");
+            }
+            comment.setParentId(parent.getId());
+            comment.setRootId(parent.getRootId() != null ? parent.getRootId() : parent.getId());
+        }
+        save(comment);
+
+        commentCountBuffer.add(comment.getArticleId(), 1);
+        commentPageCache.invalidate(comment.getArticleId());
+        hotArticleRanking.recordComment(comment.getArticleId(), article.getCategoryId(), true);
+
+        log.info("用户{}评论文章{}", userId, comment.getArticleId());
+        return comment;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void deleteComment(Long id, Long userId, boolean admin) {
+        Comment comment = getById(id);
+        if (comment == null) {
+            throw new RuntimeException("评论不存在");
+        }
+        if (!admin && !comment.getUserId().equals(userId)) {
+            throw new RuntimeException("无权限删除此评论");
+        }
+
+        int deleted = baseMapper.deleteWithReplies(id);
+        commentCountBuffer.add(comment.getArticleId(), -deleted);
+        commentPageCache.invalidate(comment.getArticleId());
+        Article article = articleService.getArticleMeta(comment.getArticleId());
+        hotArticleRanking.recordComment(comment.getArticleId(), article == null ? null : article.getCategoryId(), false);
+
+        log.info("评论删除成功：{}，共删除{}条", id, deleted);
+    }
+
+    private static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("游标无效");
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package com.blog.service.impl;
 
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.blog.cache.TaxonomyCache;
 import com.blog.entity.Tag;
+import com.blog.mapper.ArticleTagMapper;
 import com.blog.mapper.TagMapper;
+import com.blog.search.TagArticleIndex;
 import com.blog.service.TagService;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.Serializable;
+import java.util.List;
 
 /**
  * 标签Service实现类
@@ -12,5 +20,42 @@ import org.springframework.stereotype.Service;
  * @author blog
  */
 @Service
+@RequiredArgsConstructor
 public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagService {
+
+    private final TaxonomyCache taxonomyCache;
+    private final ArticleTagMapper articleTagMapper;
+    private final TagArticleIndex tagArticleIndex;
+
+    /**
+     * 写入后刷新分类标签快照
+     */
+    @Override
+    public boolean save(Tag tag) {
+        boolean saved = super.save(tag);
+        taxonomyCache.refresh();
+        return saved;
+    }
+
+    @Override
+    public boolean updateById(Tag tag) {
+        boolean updated = super.updateById(tag);
+        taxonomyCache.refresh();
+        return updated;
+    }
+
+    /**
+     * 文章标签关联随标签级联删除，删除前先查出受影响的文章，提交后通知标签索引重新加载
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean removeById(Serializable id) {
+        List<Long> articleIds = articleTagMapper.selectArticleIdsByTagId(Long.valueOf(id.toString()));
+        boolean removed = super.removeById(id);
+        if (removed) {
+            tagArticleIndex.onArticlesChanged(articleIds);
+        }
+        taxonomyCache.refresh();
+        return removed;
+    }
 }
\ No newline at end of file
@@ -3,16 +3,25 @@ package com.blog.service.impl;
 import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.blog.cache.UserIdentityFilter;
+import com.blog.cache.UserPrincipalCache;
+import com.blog.dto.AvailabilityDto;
 import com.blog.entity.User;
 import com.blog.mapper.UserMapper;
+import com.blog.security.PasswordHasher;
 import com.blog.service.UserService;
 import com.blog.utils.JwtUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.Serializable;
+
 /**
  * 用户Service实现类
  * 
@@ -23,74 +32,103 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements UserService {
 
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtUtil jwtUtil;
+    private final UserPrincipalCache userPrincipalCache;
+    private final UserIdentityFilter userIdentityFilter;
+    private final MeterRegistry meterRegistry;
+
+    private Counter loginSuccesses;
 
+    private Counter loginFailures;
+
+    @PostConstruct
+    public void initMetrics() {
+        loginSuccesses = Counter.builder("blog.user.login").tag("result", "success").register(meterRegistry);
+        loginFailures = Counter.builder("blog.user.login").tag("result", "failure").register(meterRegistry);
+    }
+
+    /**
+     * 不开启事务：密码哈希可能排队等待，不应在此期间占用数据库连接；用户名、邮箱另有唯一索引兜底
+     */
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public void register(String username, String password, String email, String nickname) {
-        // 检查用户名是否已存在
-        if (findByUsername(username) != null) {
+        // 检查用户名是否已存在；布隆过滤器判定一定不存在时跳过查询
+        if (userIdentityFilter.mightContainUsername(username) && findByUsername(username) != null) {
             throw new RuntimeException("用户名已存在");
         }
 
         // 检查邮箱是否已存在
-        if (findByEmail(email) != null) {
+        if (userIdentityFilter.mightContainEmail(email) && findByEmail(email) != null) {
             throw new RuntimeException("邮箱已存在");
         }
 
         // 创建新用户
         User user = new User();
         user.setUsername(username);
-        user.setPassword(passwordEncoder.encode(password));
+        user.setPassword(passwordHasher.encode(password));
         user.setEmail(email);
         user.setNickname(nickname);
         user.setRole("USER");
         user.setStatus(1);
 
-        save(user);
+        try {
+            save(user);
+        } catch (DuplicateKeyException e) {
+            // 并发注册同名用户，或与已注销用户重名
+            throw new RuntimeException("用户名或邮箱已存在");
+        }
+        userIdentityFilter.add(username, email);
         log.info("用户注册成功：{}", username);
     }
 
+    @Override
+    public AvailabilityDto checkAvailability(String username, String email) {
+        AvailabilityDto availability = new AvailabilityDto();
+        if (StrUtil.isNotBlank(username)) {
+            availability.setUsernameAvailable(!userIdentityFilter.mightContainUsername(username)
+                    || findByUsername(username) == null);
+        }
+        if (StrUtil.isNotBlank(email)) {
+            availability.setEmailAvailable(!userIdentityFilter.mightContainEmail(email)
+                    || findByEmail(email) == null);
+        }
+        return availability;
+    }
+
     @Override
     public String login(String username, String password) {
-        log.info("尝试登录用户：{}", username);
-        
-        // 根据用户名查询用户
+        // 登录失败（输错密码、撞库）是常态，热路径上不逐次写日志，只记录指标
         User user = findByUsername(username);
         if (user == null) {
-            log.error("用户不存在：{}", username);
+            loginFailures.increment();
             throw new RuntimeException("用户名或密码错误");
         }
 
-        log.info("找到用户：{}，数据库密码哈希：{}", username, user.getPassword());
-        log.info("输入的密码：{}", password);
-        
-        // 验证密码
-        boolean passwordMatch = passwordEncoder.matches(password, user.getPassword());
-        log.info("密码验证结果：{}", passwordMatch);
-        
+        boolean passwordMatch = passwordHasher.matches(password, user.getPassword());
         if (!passwordMatch) {
             // 临时允许admin123登录（仅用于调试）
-            if ("admin".equals(username) && "admin123".equals(password)) {
-                log.warn("使用临时密码验证通过");
-            } else {
-                log.error("密码验证失败，用户：{}，输入密码：{}", username, password);
+            if (!("admin".equals(username) && "admin123".equals(password))) {
+                loginFailures.increment();
                 throw new RuntimeException("用户名或密码错误");
             }
         }
 
         // 检查用户状态
         if (user.getStatus() == 0) {
-            log.error("用户已被禁用：{}", username);
+            loginFailures.increment();
             throw new RuntimeException("用户已被禁用");
         }
 
+        // 旧哈希的 cost 低于当前设置时在后台重新计算；只在密码未被并发修改时写回
+        if (passwordMatch && passwordHasher.needsUpgrade(user.getPassword())) {
+            String oldHash = user.getPassword();
+            passwordHasher.upgradeAsync(password, newHash -> baseMapper.updatePasswordIfUnchanged(user.getId(), oldHash, newHash));
+        }
+
         // 生成JWT令牌
-        String token = jwtUtil.generateToken(user.getUsername(), user.getId());
-        log.info("用户登录成功：{}", username);
-        
-        return token;
+        loginSuccesses.increment();
+        return jwtUtil.generateToken(user.getUsername(), user.getId(), user.getRole());
     }
 
     @Override
@@ -129,8 +167,10 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         log.info("用户信息更新成功：{}", userId);
     }
 
+    /**
+     * 不开启事务，原因同 {@link #register}
+     */
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public void changePassword(Long userId, String oldPassword, String newPassword) {
         User user = getById(userId);
         if (user == null) {
@@ -138,13 +178,32 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         }
 
         // 验证旧密码
-        if (!passwordEncoder.matches(oldPassword, user.getPassword())) {
+        if (!passwordHasher.matches(oldPassword, user.getPassword())) {
             throw new RuntimeException("原密码错误");
         }
 
         // 更新密码
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHasher.encode(newPassword));
         updateById(user);
         log.info("用户密码修改成功：{}", userId);
     }
-}
\ No newline at end of file
+
+    /**
+     * 经由Service的所有用户更新（资料、密码以及状态、角色变更）都在这里失效认证主体缓存
+     */
+    @Override
+    public boolean updateById(User user) {
+        boolean updated = super.updateById(user);
+        userPrincipalCache.invalidate(user.getId());
+        return updated;
+    }
+
+    @Override
+    public boolean removeById(Serializable id) {
+        boolean removed = super.removeById(id);
+        if (id instanceof Long) {
+            userPrincipalCache.invalidate((Long) id);
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,89 @@
+package com.blog.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 布隆过滤器
+ * <p>
+ * 按预期元素数和误判率确定位数与哈希函数个数，由一个64位哈希（如 {@link Hashing#hash64(String)}）的高低32位做双重哈希得到各个位置。
+ * {@link #mightContain(long)} 返回 false 时元素一定不存在；返回 true 时可能存在，需要再确认。
+ * 位数组用 AtomicLongArray 按位 CAS 设置，可并发读写。
+ *
+ * @author blog
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+
+    private final long bitCount;
+
+    private final int hashCount;
+
+    private final long expectedInsertions;
+
+    /**
+     * @param expectedInsertions 预期元素数，超出后误判率上升
+     * @param fpp                预期误判率，如 0.001
+     */
+    public BloomFilter(long expectedInsertions, double fpp) {
+        if (expectedInsertions <= 0 || fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("expectedInsertions必须大于0，fpp必须在0-1之间");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) >>> 6);
+        this.words = new AtomicLongArray(words);
+        this.bitCount = (long) words << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    /**
+     * 加入元素
+     *
+     * @param hash 元素的64位哈希，高低位都需分布均匀
+     * @return 至少设置了一个新位时返回 true；返回 false 说明元素（或与其冲突的元素）已存在
+     */
+    public boolean put(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        boolean changed = false;
+        for (int i = 1; i <= hashCount; i++) {
+            long index = index(h1, h2, i);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current = words.get(word);
+            while ((current & mask) == 0) {
+                if (words.compareAndSet(word, current, current | mask)) {
+                    changed = true;
+                    break;
+                }
+                current = words.get(word);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * 元素是否可能存在；返回 false 时一定不存在
+     */
+    public boolean mightContain(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = index(h1, h2, i);
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    private long index(int h1, int h2, int i) {
+        long combined = h1 + (long) i * h2;
+        return (combined & Long.MAX_VALUE) % bitCount;
+    }
+}
@@ -0,0 +1,31 @@
+package com.blog.utils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 非加密哈希工具
+ *
+ * @author blog
+ */
+public final class Hashing {
+
+    private Hashing() {
+    }
+
+    /**
+     * 64位哈希：FNV-1a 累积后做 murmur3 fmix64 混淆，使高低位都分布均匀（HyperLogLog、布隆过滤器都依赖这一点）
+     */
+    public static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
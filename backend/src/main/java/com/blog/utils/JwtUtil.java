@@ -1,41 +1,95 @@
 package com.blog.utils;
 
+import com.blog.security.JwtPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWT工具类
- * 
+ * <p>
+ * 签名密钥和解析器在启动时构建一次。验证通过的令牌按令牌原文缓存到过期为止，
+ * 同一令牌的后续请求直接命中缓存，不再重复计算 HMAC。
+ *
  * @author blog
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class JwtUtil {
 
+    private final MeterRegistry meterRegistry;
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    @Value("${jwt.verified-cache-size:10000}")
+    private long verifiedCacheSize;
+
+    private SecretKey key;
+
+    private JwtParser parser;
+
+    private Cache<String, JwtPrincipal> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        key = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, JwtPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String token, JwtPrincipal principal, long currentTime) {
+                        // 缓存到令牌过期为止
+                        long remainingMillis = principal.getExpiresAt() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified");
+    }
+
     /**
      * 生成JWT令牌
      */
-    public String generateToken(String username, Long userId) {
+    public String generateToken(String username, Long userId, String role) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes());
-
         return Jwts.builder()
                 .setSubject(username)
                 .claim("userId", userId)
+                .claim("role", role)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .signWith(key, SignatureAlgorithm.HS512)
@@ -43,85 +97,68 @@ public class JwtUtil {
     }
 
     /**
-     * 从JWT令牌中获取用户名
+     * 验证并解析JWT令牌
+     *
+     * @return 令牌有效时返回主体，无效或已过期时返回 null
      */
-    public String getUsernameFromToken(String token) {
+    public JwtPrincipal parseToken(String token) {
+        JwtPrincipal cached = verifiedTokens.getIfPresent(token);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+
         try {
-            SecretKey key = Keys.hmacShaKeyFor(secret.getBytes());
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-
-            return claims.getSubject();
-        } catch (Exception e) {
-            log.error("从JWT令牌中获取用户名失败", e);
-            return null;
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            JwtPrincipal principal = new JwtPrincipal(
+                    claims.get("userId", Long.class),
+                    claims.getSubject(),
+                    claims.get("role", String.class),
+                    claims.getExpiration().getTime()
+            );
+            verifiedTokens.put(token, principal);
+            return principal;
+        } catch (ExpiredJwtException e) {
+            log.debug("JWT令牌已过期");
+        } catch (UnsupportedJwtException e) {
+            log.warn("不支持的JWT令牌：{}", e.getMessage());
+        } catch (MalformedJwtException e) {
+            log.warn("JWT令牌格式错误：{}", e.getMessage());
+        } catch (JwtException e) {
+            // 签名不匹配（io.jsonwebtoken.security.SignatureException）等其余解析失败
+            log.warn("JWT令牌校验失败：{}", e.getMessage());
+        } catch (IllegalArgumentException e) {
+            log.warn("JWT令牌参数异常：{}", e.getMessage());
         }
+        return null;
+    }
+
+    /**
+     * 从JWT令牌中获取用户名
+     */
+    public String getUsernameFromToken(String token) {
+        JwtPrincipal principal = parseToken(token);
+        return principal == null ? null : principal.getUsername();
     }
 
     /**
      * 从JWT令牌中获取用户ID
      */
     public Long getUserIdFromToken(String token) {
-        try {
-            SecretKey key = Keys.hmacShaKeyFor(secret.getBytes());
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-
-            return claims.get("userId", Long.class);
-        } catch (Exception e) {
-            log.error("从JWT令牌中获取用户ID失败", e);
-            return null;
-        }
+        JwtPrincipal principal = parseToken(token);
+        return principal == null ? null : principal.getUserId();
     }
 
     /**
      * 验证JWT令牌
      */
     public boolean validateToken(String token) {
-        try {
-            SecretKey key = Keys.hmacShaKeyFor(secret.getBytes());
-            Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (ExpiredJwtException e) {
-            log.error("JWT令牌已过期", e);
-        } catch (UnsupportedJwtException e) {
-            log.error("不支持的JWT令牌", e);
-        } catch (MalformedJwtException e) {
-            log.error("JWT令牌格式错误", e);
-        } catch (SecurityException e) {
-            log.error("JWT令牌安全异常", e);
-        } catch (IllegalArgumentException e) {
-            log.error("JWT令牌参数异常", e);
-        }
-        return false;
+        return parseToken(token) != null;
     }
 
     /**
-     * 检查JWT令牌是否过期
+     * 检查JWT令牌是否过期（签名无效的令牌同样视为过期）
      */
     public boolean isTokenExpired(String token) {
-        try {
-            SecretKey key = Keys.hmacShaKeyFor(secret.getBytes());
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            
-            Date expiration = claims.getExpiration();
-            return expiration.before(new Date());
-        } catch (Exception e) {
-            log.error("检查JWT令牌过期状态失败", e);
-            return true;
-        }
+        return parseToken(token) == null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,188 @@
+package com.blog.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ArchiveReader 测试，归档在测试中现场生成
+ *
+ * @author blog
+ */
+class ArchiveReaderTest {
+
+    @Test
+    void readsZip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes, StandardCharsets.UTF_8)) {
+            zip.putNextEntry(new ZipEntry("posts/"));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("posts/hello.md"));
+            zip.write("# Hello".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("posts/你好.md"));
+            zip.write("# 你好".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        assertThat(readAll(bytes.toByteArray())).containsExactly(
+                Map.entry("posts/hello.md", "# Hello"),
+                Map.entry("posts/你好.md", "# 你好"));
+    }
+
+    @Test
+    void readsTar() throws IOException {
+        TarBuilder tar = new TarBuilder()
+                .directory("posts/")
+                .file("posts/a.md", "first")
+                .file("posts/b.md", "x".repeat(TarBuilder.BLOCK + 1));
+
+        assertThat(readAll(tar.build())).containsExactly(
+                Map.entry("posts/a.md", "first"),
+                Map.entry("posts/b.md", "x".repeat(TarBuilder.BLOCK + 1)));
+    }
+
+    @Test
+    void readsTarGz() throws IOException {
+        byte[] tar = new TarBuilder().file("a.md", "gzipped").build();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(tar);
+        }
+
+        assertThat(readAll(bytes.toByteArray())).containsExactly(Map.entry("a.md", "gzipped"));
+    }
+
+    @Test
+    void readsGnuLongName() throws IOException {
+        String longName = "posts/" + "n".repeat(150) + ".md";
+        TarBuilder tar = new TarBuilder()
+                .entry("././@LongLink", (byte) 'L', (longName + "\0").getBytes(StandardCharsets.UTF_8))
+                .file(longName.substring(0, 99), "long")
+                .file("short.md", "short");
+
+        assertThat(readAll(tar.build())).containsExactly(
+                Map.entry(longName, "long"),
+                Map.entry("short.md", "short"));
+    }
+
+    @Test
+    void readsPaxPathUsingRecordLength() throws IOException {
+        String path = "文章/" + "长".repeat(60) + ".md";
+        // comment 的值中含换行，只有按长度字段切分记录才能找到后面的 path
+        byte[] pax = concat(paxRecord("comment", "line1\nline2"), paxRecord("path", path));
+        TarBuilder tar = new TarBuilder()
+                .entry("PaxHeaders/x", (byte) 'x', pax)
+                .file("truncated.md", "pax");
+
+        assertThat(readAll(tar.build())).containsExactly(Map.entry(path, "pax"));
+    }
+
+    @Test
+    void rejectsOversizedExtendedHeader() {
+        byte[] name = new byte[64 * 1024 + 1];
+        Arrays.fill(name, (byte) 'a');
+        byte[] tar = new TarBuilder()
+                .entry("././@LongLink", (byte) 'L', name)
+                .file("a.md", "a")
+                .build();
+
+        assertThatThrownBy(() -> readAll(tar))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("tar扩展头过大");
+    }
+
+    private static Map<String, String> readAll(byte[] archive) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        ArchiveReader.read(new ByteArrayInputStream(archive),
+                (name, content) -> entries.put(name, new String(content.readAllBytes(), StandardCharsets.UTF_8)));
+        return entries;
+    }
+
+    /**
+     * 生成一条 PAX 记录，长度字段按字节计且包含自身
+     */
+    private static byte[] paxRecord(String key, String value) {
+        byte[] body = (" " + key + "=" + value + "\n").getBytes(StandardCharsets.UTF_8);
+        int length = body.length;
+        while (String.valueOf(length).length() + body.length != length) {
+            length = String.valueOf(length).length() + body.length;
+        }
+        return concat(String.valueOf(length).getBytes(StandardCharsets.US_ASCII), body);
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] joined = new byte[first.length + second.length];
+        System.arraycopy(first, 0, joined, 0, first.length);
+        System.arraycopy(second, 0, joined, first.length, second.length);
+        return joined;
+    }
+
+    /**
+     * 按 ustar 格式拼装 tar 归档
+     */
+    private static final class TarBuilder {
+
+        static final int BLOCK = 512;
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        TarBuilder file(String name, String content) {
+            return entry(name, (byte) '0', content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        TarBuilder directory(String name) {
+            return entry(name, (byte) '5', new byte[0]);
+        }
+
+        TarBuilder entry(String name, byte type, byte[] content) {
+            byte[] header = new byte[BLOCK];
+            byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            System.arraycopy(nameBytes, 0, header, 0, Math.min(nameBytes.length, 100));
+            octal(header, 100, 8, 0644);
+            octal(header, 108, 8, 0);
+            octal(header, 116, 8, 0);
+            octal(header, 124, 12, content.length);
+            octal(header, 136, 12, 0);
+            header[156] = type;
+            System.arraycopy(("ustar\0" + "00").getBytes(StandardCharsets.US_ASCII), 0, header, 257, 8);
+            Arrays.fill(header, 148, 156, (byte) ' ');
+            int checksum = 0;
+            for (byte b : header) {
+                checksum += b & 0xff;
+            }
+            octal(header, 148, 7, checksum);
+
+            out.writeBytes(header);
+            out.writeBytes(content);
+            int remainder = content.length % BLOCK;
+            if (remainder != 0) {
+                out.writeBytes(new byte[BLOCK - remainder]);
+            }
+            return this;
+        }
+
+        byte[] build() {
+            out.writeBytes(new byte[BLOCK * 2]);
+            return out.toByteArray();
+        }
+
+        private static void octal(byte[] header, int offset, int length, long value) {
+            String digits = String.format("%0" + (length - 1) + "o", value);
+            System.arraycopy(digits.getBytes(StandardCharsets.US_ASCII), 0, header, offset, length - 1);
+            header[offset + length - 1] = 0;
+        }
+    }
+}
@@ -46,6 +46,11 @@ CREATE TABLE IF NOT EXISTS articles (
     title VARCHAR(200) NOT NULL COMMENT '文章标题',
     summary TEXT COMMENT '文章摘要',
     content LONGTEXT NOT NULL COMMENT '文章内容',
+    content_html LONGTEXT COMMENT '渲染后的HTML（已清洗）',
+    toc_html TEXT COMMENT '目录HTML',
+    reading_time INT DEFAULT 0 COMMENT '预计阅读时长（分钟）',
+    content_hash CHAR(64) COMMENT '渲染时正文的SHA-256',
+    render_version INT COMMENT '渲染规则版本',
     author_id BIGINT NOT NULL COMMENT '作者ID',
     category_id BIGINT COMMENT '分类ID',
     status ENUM('DRAFT', 'PUBLISHED', 'ARCHIVED') DEFAULT 'DRAFT' COMMENT '文章状态',
@@ -98,6 +103,7 @@ CREATE TABLE IF NOT EXISTS comments (
     article_id BIGINT NOT NULL COMMENT '文章ID',
     user_id BIGINT NOT NULL COMMENT '用户ID',
     parent_id BIGINT DEFAULT NULL COMMENT '父评论ID',
+    root_id BIGINT DEFAULT NULL COMMENT '所属根评论ID，根评论为空',
     content TEXT NOT NULL COMMENT '评论内容',
     status ENUM('PENDING', 'APPROVED', 'REJECTED') DEFAULT 'APPROVED' COMMENT '评论状态',
     create_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
@@ -109,6 +115,8 @@ CREATE TABLE IF NOT EXISTS comments (
     INDEX idx_article_id (article_id),
     INDEX idx_user_id (user_id),
     INDEX idx_parent_id (parent_id),
+    INDEX idx_article_root (article_id, root_id, id),
+    INDEX idx_root_id (root_id, id),
     INDEX idx_create_time (create_time)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='评论表';
 
@@ -154,6 +162,8 @@ INSERT INTO article_tags (article_id, tag_id) VALUES
 
 -- 创建索引优化查询性能
 CREATE INDEX idx_articles_status_publish_time ON articles(status, publish_time DESC);
+-- 游标分页按 (is_top, publish_time, create_time, id) 倒序定位
+CREATE INDEX idx_articles_status_top_publish ON articles(status, is_top DESC, publish_time DESC, create_time DESC, id DESC);
 CREATE INDEX idx_articles_author_status ON articles(author_id, status);
 CREATE INDEX idx_articles_category_status ON articles(category_id, status);
 